@@ -7,15 +7,16 @@ import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
-import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
 public class GatewayConfig {
 
+    // Target of the CircuitBreaker filters' forward:/fallback, so it has to accept every method
     @Bean
     public RouterFunction<ServerResponse> fallbackRoute() {
-        return route(GET("/fallback"), request ->
+        return route(path("/fallback"), request ->
                 ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue("{\"error\":\"Service Unavailable\",\"message\":\"The requested service is temporarily unavailable\"}")
@@ -0,0 +1,31 @@
+package com.mit.tasksphere.Gateway.Config;
+
+import com.mit.tasksphere.Gateway.util.LeastOutstandingLoadBalancer;
+import com.mit.tasksphere.Gateway.util.UpstreamInstanceStats;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// lb:// routes pick instances with LeastOutstandingLoadBalancer instead of round robin
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.LeastOutstanding.class)
+public class LoadBalancerConfig {
+
+    // Created once per service id in its own child context, so deliberately not a @Configuration
+    static class LeastOutstanding {
+
+        @Bean
+        public ReactorLoadBalancer<ServiceInstance> leastOutstandingLoadBalancer(Environment environment,
+                                                                                 LoadBalancerClientFactory clientFactory,
+                                                                                 UpstreamInstanceStats stats) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            return new LeastOutstandingLoadBalancer(
+                    clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, stats);
+        }
+    }
+}
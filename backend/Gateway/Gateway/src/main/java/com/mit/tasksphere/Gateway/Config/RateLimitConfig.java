@@ -0,0 +1,20 @@
+package com.mit.tasksphere.Gateway.Config;
+
+import com.mit.tasksphere.Gateway.util.RateLimitStore;
+import com.mit.tasksphere.Gateway.util.StripedTokenBucketStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    // Replaced automatically when a shared RateLimitStore bean is defined
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public RateLimitStore rateLimitStore(@Value("${gateway.rate-limit.stripes:64}") int stripes,
+                                         @Value("${gateway.rate-limit.max-buckets-per-stripe:4096}") int maxBucketsPerStripe) {
+        return new StripedTokenBucketStore(stripes, maxBucketsPerStripe);
+    }
+}
@@ -2,6 +2,7 @@ package com.mit.tasksphere.Gateway.Config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
@@ -20,11 +21,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
 
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
-                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                // Only for the operational actuator endpoints (spring.security.user); routes use JWTs
+                .httpBasic(Customizer.withDefaults())
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
 
                 .authorizeExchange(ex -> ex
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .pathMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        // Cache purge, breaker/bulkhead state, latency and metrics are not for the public port
+                        .pathMatchers("/actuator/**").hasRole("ACTUATOR")
                         .anyExchange().permitAll()
                 )
                 .build();
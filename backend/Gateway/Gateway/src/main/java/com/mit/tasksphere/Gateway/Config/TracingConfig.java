@@ -0,0 +1,23 @@
+package com.mit.tasksphere.Gateway.Config;
+
+import com.mit.tasksphere.Gateway.util.FileSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Spans are created by Micrometer Tracing (OpenTelemetry bridge); W3C traceparent is propagated in and out
+@Configuration
+public class TracingConfig {
+
+    // Picked up by Spring Boot's tracer provider alongside any other SpanExporter beans
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file.path:logs/spans-gateway.jsonl}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
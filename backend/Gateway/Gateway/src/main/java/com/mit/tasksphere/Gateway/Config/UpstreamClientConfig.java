@@ -0,0 +1,52 @@
+package com.mit.tasksphere.Gateway.Config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Reactor Netty client used for every upstream call: the proxied routes and
+ * gateway-local WebClients such as the dashboard. The gateway still builds
+ * the HttpClient from spring.cloud.gateway.httpclient (pool, SSL, proxy,
+ * wiretap, timeouts); this only adds protocol negotiation, TCP keep-alive and
+ * metrics on top. Connections are pooled per upstream host and kept warm so
+ * requests skip the TCP/TLS handshake. Pool and connect/TLS timings are
+ * published to Micrometer under reactor.netty.*.
+ */
+@Configuration
+public class UpstreamClientConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamHttpClientCustomizer(
+            HttpClientProperties httpClientProperties,
+            @Value("${gateway.upstream.protocols:HTTP11,H2}") List<HttpProtocol> protocols) {
+        return client -> {
+            HttpClient customized = client
+                    .protocol(protocols.toArray(HttpProtocol[]::new))
+                    .keepAlive(true)
+                    .option(ChannelOption.SO_KEEPALIVE, true)
+                    // Collapse the uri tag: remote.address already separates the upstreams
+                    .metrics(true, uri -> "upstream");
+            // Routes get theirs per request from NettyRoutingFilter; this is the default for WebClients
+            if (httpClientProperties.getResponseTimeout() != null) {
+                customized = customized.responseTimeout(httpClientProperties.getResponseTimeout());
+            }
+            return customized;
+        };
+    }
+
+    // The HttpClient bean is the one the gateway built, customizers included
+    @Bean
+    public WebClientCustomizer upstreamWebClientCustomizer(HttpClient gatewayHttpClient) {
+        return builder -> builder.clientConnector(new ReactorClientHttpConnector(gatewayHttpClient));
+    }
+}
@@ -0,0 +1,152 @@
+package com.mit.tasksphere.Gateway.Controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.mit.tasksphere.Gateway.util.JwtVerifier;
+import com.mit.tasksphere.Gateway.util.RateLimitStore;
+import com.mit.tasksphere.Gateway.util.VerifiedTokenCache.VerifiedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Backend-for-frontend for the dashboard: one client round trip fans out to
+ * UserService and TaskService in parallel. Each leg has its own timeout; a
+ * failed leg comes back as null with its reason under "errors" instead of
+ * failing the whole page.
+ *
+ * This is a controller, not a route, so the route filters do not apply; the
+ * pieces that matter are repeated here. Legs go through the lb:// load
+ * balancer and the userService / taskService circuit breakers the routes
+ * use, and each user has a token bucket of their own in RateLimitStore.
+ */
+@RestController
+public class DashboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    private record Leg(JsonNode body, String error) {}
+
+    private final WebClient userService;
+    private final WebClient taskService;
+    private final JwtVerifier jwtVerifier;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakers;
+    private final RateLimitStore rateLimits;
+    private final Duration legTimeout;
+    private final double replenishRate;
+    private final int burstCapacity;
+
+    public DashboardController(WebClient.Builder webClientBuilder,
+                               LoadBalancedExchangeFilterFunction loadBalancer,
+                               ReactiveCircuitBreakerFactory<?, ?> circuitBreakers,
+                               RateLimitStore rateLimits,
+                               JwtVerifier jwtVerifier,
+                               @Value("${gateway.dashboard.user-service:userservice}") String userServiceId,
+                               @Value("${gateway.dashboard.task-service:taskservice}") String taskServiceId,
+                               @Value("${gateway.dashboard.leg-timeout:2s}") Duration legTimeout,
+                               @Value("${gateway.dashboard.replenish-rate:5}") double replenishRate,
+                               @Value("${gateway.dashboard.burst-capacity:10}") int burstCapacity) {
+        // The load balancer swaps the service id for a chosen instance's scheme, host and port
+        this.userService = webClientBuilder.clone().baseUrl("http://" + userServiceId).filter(loadBalancer).build();
+        this.taskService = webClientBuilder.clone().baseUrl("http://" + taskServiceId).filter(loadBalancer).build();
+        this.jwtVerifier = jwtVerifier;
+        this.circuitBreakers = circuitBreakers;
+        this.rateLimits = rateLimits;
+        this.legTimeout = legTimeout;
+        this.replenishRate = replenishRate;
+        this.burstCapacity = burstCapacity;
+    }
+
+    @GetMapping("/api/dashboard")
+    public Mono<ResponseEntity<Map<String, Object>>> dashboard(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        VerifiedToken user;
+        try {
+            user = jwtVerifier.verify(authHeader.substring(7));
+        } catch (Exception e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        // The dashboard is per user, and so is its bucket; a token without a userId would share one with every other
+        if (user.userId() == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        long waitMillis = rateLimits.tryConsume("dashboard|user:" + user.userId(), replenishRate, burstCapacity);
+        if (waitMillis > 0) {
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMillis + 999) / 1000)))
+                    .build());
+        }
+
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        Mono<JsonNode> currentUser = leg("user", userService, "userService", "/api/users/current", authHeader, user, errors);
+        Mono<JsonNode> tasks = leg("tasks", taskService, "taskService", "/api/tasks", authHeader, user, errors);
+        Mono<JsonNode> analytics = leg("analytics", taskService, "taskService", "/api/tasks/analytics", authHeader, user, errors);
+
+        return Mono.zip(currentUser, tasks, analytics)
+                .map(legs -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("user", legs.getT1());
+                    body.put("tasks", legs.getT2());
+                    body.put("analytics", legs.getT3());
+                    if (!errors.isEmpty()) {
+                        body.put("errors", errors);
+                    }
+                    return ResponseEntity.ok(body);
+                });
+    }
+
+    private Mono<JsonNode> leg(String name, WebClient client, String breaker, String path, String authHeader,
+                               VerifiedToken user, Map<String, String> errors) {
+        Mono<Leg> call = client.get()
+                .uri(path)
+                .headers(headers -> {
+                    headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+                    headers.set("X-Gateway-Auth", "validated");
+                    headers.set("X-User-Id", user.userId());
+                    if (user.email() != null) headers.set("X-User-Email", user.email());
+                    if (user.roles() != null) headers.set("X-User-Roles", user.roles());
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> new Leg(body, null))
+                // A 4xx says nothing about the upstream's health, so it is answered before the breaker sees it
+                .onErrorResume(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                        ? Mono.just(new Leg(NullNode.getInstance(), e.getMessage()))
+                        : Mono.error(e))
+                .timeout(legTimeout);
+
+        return circuitBreakers.create(breaker)
+                .run(call, e -> Mono.just(new Leg(NullNode.getInstance(), e instanceof TimeoutException ? "timeout"
+                        : e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName())))
+                .defaultIfEmpty(new Leg(NullNode.getInstance(), null))
+                .map(leg -> {
+                    if (leg.error() != null) {
+                        logger.warn("Dashboard leg '{}' failed: {}", name, leg.error());
+                        errors.put(name, leg.error());
+                    }
+                    return leg.body();
+                });
+    }
+}
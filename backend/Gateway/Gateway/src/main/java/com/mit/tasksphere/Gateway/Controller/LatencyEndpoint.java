@@ -0,0 +1,37 @@
+package com.mit.tasksphere.Gateway.Controller;
+
+import com.mit.tasksphere.Gateway.util.LatencyWindows;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/latency?limit=10&window=60 -> slowest route/path templates by
+ * p99 over the last window seconds, with request count and 5xx error rate
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final LatencyWindows windows;
+
+    public LatencyEndpoint(LatencyWindows windows) {
+        this.windows = windows;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowest(@Nullable Integer limit, @Nullable Integer window) {
+        long windowSeconds = window != null && window > 0
+                ? Math.min(window, windows.getWindowSeconds())
+                : Math.min(60, windows.getWindowSeconds());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("windowSeconds", windowSeconds);
+        body.put("paths", windows.slowest(limit != null && limit > 0 ? limit : 10, windowSeconds));
+        return body;
+    }
+}
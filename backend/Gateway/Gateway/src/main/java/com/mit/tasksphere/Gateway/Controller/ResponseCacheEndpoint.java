@@ -0,0 +1,36 @@
+package com.mit.tasksphere.Gateway.Controller;
+
+import com.mit.tasksphere.Gateway.util.ResponseCacheStore;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * GET    /actuator/responsecache                        -> entry count
+ * DELETE /actuator/responsecache?pattern=/api/tasks/**  -> purge matching paths (all when omitted)
+ */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheEndpoint(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return Map.of("entries", store.size());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> purge(@Nullable String pattern) {
+        long purged = pattern == null ? store.purgeAll() : store.purgeMatching(pattern);
+        return Map.of("purged", purged);
+    }
+}
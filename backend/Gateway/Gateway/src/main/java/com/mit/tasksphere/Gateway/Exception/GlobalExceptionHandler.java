@@ -1,11 +1,14 @@
 package com.mit.tasksphere.Gateway.Exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -17,14 +20,38 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
 
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
-        exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-        exchange.getResponse().getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
-        
+        // Headers already sent (e.g. a streamed body failed half way): nothing left to do but drop the connection
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        HttpStatusCode status = statusFor(ex);
         String errorMessage = "{\"error\":\"Internal Server Error\",\"message\":\"An unexpected error occurred\"}";
-        
+        if (status.is4xxClientError()) {
+            // e.g. 413 from StreamingBodyFilter; client errors are safe to report as-is
+            HttpStatus known = HttpStatus.resolve(status.value());
+            errorMessage = "{\"error\":\"" + (known != null ? known.getReasonPhrase() : "Client Error") + "\"}";
+        } else if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            errorMessage = "{\"error\":\"Service Unavailable\",\"message\":\"Too many concurrent requests\"}";
+        }
+
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+
         DataBuffer buffer = exchange.getResponse().bufferFactory()
                 .wrap(errorMessage.getBytes(StandardCharsets.UTF_8));
         
         return exchange.getResponse().writeWith(Mono.just(buffer));
     }
+
+    // The status handle() writes for ex; AccessLogFilter logs before this handler runs and needs it too
+    public static HttpStatusCode statusFor(Throwable ex) {
+        if (ex instanceof ResponseStatusException rse && rse.getStatusCode().is4xxClientError()) {
+            return rse.getStatusCode();
+        }
+        if (ex instanceof BulkheadFullException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.Exception.GlobalExceptionHandler;
+import com.mit.tasksphere.Gateway.util.AccessLogWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One structured access log line per request. Errors (status >= 400 or an
+ * exception) and slow requests are always logged; other requests are sampled.
+ * Only allow-listed headers are captured, so bearer tokens and cookies never
+ * reach the log. The JSON itself is built off the event loop by AccessLogWriter.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private final AccessLogWriter writer;
+    private final boolean enabled;
+    private final double successSampleRate;
+    private final long slowThresholdMicros;
+    private final List<String> allowedHeaders;
+
+    public AccessLogFilter(AccessLogWriter writer,
+                           @Value("${gateway.access-log.enabled:true}") boolean enabled,
+                           @Value("${gateway.access-log.success-sample-rate:0.1}") double successSampleRate,
+                           @Value("${gateway.access-log.slow-threshold-ms:1000}") long slowThresholdMs,
+                           @Value("${gateway.access-log.headers:User-Agent,Content-Type,Content-Length,X-Forwarded-For}") List<String> allowedHeaders) {
+        this.writer = writer;
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+        this.slowThresholdMicros = slowThresholdMs * 1000;
+        this.allowedHeaders = allowedHeaders;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        return chain.filter(exchange)
+            .doOnError(failure::set)
+            .doFinally(signalType -> record(exchange, start, failure.get()));
+    }
+
+    private void record(ServerWebExchange exchange, long start, Throwable error) {
+        long durationMicros = (System.nanoTime() - start) / 1000;
+        // An error is turned into a response by GlobalExceptionHandler only after the chain has finished,
+        // so the status it will write is derived here; a committed response already has its real status
+        HttpStatusCode statusCode = error != null && !exchange.getResponse().isCommitted()
+                ? GlobalExceptionHandler.statusFor(error)
+                : exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+
+        boolean always = error != null || status >= 400 || durationMicros >= slowThresholdMicros;
+        if (!always && ThreadLocalRandom.current().nextDouble() >= successSampleRate) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        InetSocketAddress remote = request.getRemoteAddress();
+
+        writer.offer(new AccessLogWriter.Entry(
+                System.currentTimeMillis(),
+                request.getId(),
+                request.getMethod().name(),
+                request.getPath().value(),
+                route != null ? route.getId() : null,
+                status,
+                durationMicros,
+                remote != null ? remote.getHostString() : null,
+                allowListed(request.getHeaders()),
+                error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null));
+    }
+
+    private Map<String, String> allowListed(HttpHeaders headers) {
+        Map<String, String> captured = new LinkedHashMap<>();
+        for (String name : allowedHeaders) {
+            String value = headers.getFirst(name);
+            if (value != null) captured.put(name, value);
+        }
+        return captured;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
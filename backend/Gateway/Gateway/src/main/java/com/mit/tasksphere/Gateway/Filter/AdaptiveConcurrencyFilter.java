@@ -0,0 +1,119 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.AdaptiveConcurrencyLimit;
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sheds load with 503 + Retry-After once a route has more requests in flight
+ * than its AdaptiveConcurrencyLimit allows, so excess work is refused at the
+ * gateway instead of queueing upstream. Requests matching bulkPaths get a
+ * limiter of their own, capped at bulkShare of maxLimit, and everything else
+ * shares the interactive one. Each limiter learns its own no-load RTT, so a
+ * slow aggregation is not read as queueing by the CRUD limiter and does not
+ * shrink it. List it after the cache/coalescing filters (hits need no slot)
+ * and before CircuitBreaker (fallbacks count as drops).
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AdaptiveConcurrencyFilter(MeterRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String routeId = GatewayExchanges.routeId(exchange);
+            String path = GatewayExchanges.originalUri(exchange).getPath();
+            boolean bulk = config.getBulkPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+            String trafficClass = bulk ? "bulk" : "interactive";
+            AdaptiveConcurrencyLimit limit = limits.computeIfAbsent(routeId + "|" + trafficClass,
+                    key -> newLimit(routeId, trafficClass, bulk ? config.getBulkShare() : 1.0, config));
+
+            int inFlightAtStart = limit.tryAcquire();
+            if (inFlightAtStart < 0) {
+                registry.counter("gateway.concurrency.rejected", "route", routeId, "class", trafficClass).increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return chain.filter(exchange)
+                    .doOnError(failure::set)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            limit.releaseWithoutSample();
+                            return;
+                        }
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean dropped = failure.get() != null || (status != null && status.is5xxServerError());
+                        limit.release(System.nanoTime() - start, inFlightAtStart, dropped);
+                    });
+        };
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String routeId, String trafficClass, double share, Config config) {
+        int maxLimit = Math.max(config.getMinLimit(), (int) (config.getMaxLimit() * share));
+        int initialLimit = Math.max(config.getMinLimit(), Math.min(maxLimit, (int) (config.getInitialLimit() * share)));
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit,
+                config.getMinLimit(), maxLimit, config.getProbeInterval().toNanos());
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("route", routeId).tag("class", trafficClass).register(registry);
+        Gauge.builder("gateway.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("route", routeId).tag("class", trafficClass).register(registry);
+        return limit;
+    }
+
+
+    public static class Config {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private Duration probeInterval = Duration.ofSeconds(30);
+        private List<String> bulkPaths = new ArrayList<>();
+        private double bulkShare = 0.5;
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public Duration getProbeInterval() { return probeInterval; }
+        public void setProbeInterval(Duration probeInterval) { this.probeInterval = probeInterval; }
+
+        public List<String> getBulkPaths() { return bulkPaths; }
+        public void setBulkPaths(List<String> bulkPaths) { this.bulkPaths = bulkPaths; }
+
+        public double getBulkShare() { return bulkShare; }
+        public void setBulkShare(double bulkShare) { this.bulkShare = bulkShare; }
+    }
+}
@@ -0,0 +1,46 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Semaphore bulkhead around the rest of the route's chain. name selects the
+ * resilience4j.bulkhead instance; when it has no permit free the call fails
+ * with BulkheadFullException instead of queueing behind a slow upstream.
+ * List it inside CircuitBreaker so rejections go to the fallback.
+ */
+@Component
+public class BulkheadFilter extends AbstractGatewayFilterFactory<BulkheadFilter.Config> {
+
+    private final BulkheadRegistry registry;
+
+    public BulkheadFilter(BulkheadRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = registry.bulkhead(config.getName());
+        return (exchange, chain) -> chain.filter(exchange).transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+
+    public static class Config {
+        private String name = "default";
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+}
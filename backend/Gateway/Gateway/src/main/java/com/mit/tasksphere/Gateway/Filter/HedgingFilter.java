@@ -0,0 +1,351 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import com.mit.tasksphere.Gateway.util.LatencyWindows;
+import com.mit.tasksphere.Gateway.util.PathTemplates;
+import com.mit.tasksphere.Gateway.util.UpstreamInstanceStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hedged GETs: if the upstream has not answered within the route's recent
+ * latency quantile (delay when there is not enough history yet), the same
+ * request is sent to another instance and whichever responds first is
+ * returned; the loser is cancelled. Each route earns budgetPercent of a
+ * hedge per request, so hedging can never add more than that share of
+ * upstream load. Only paths listed in paths are hedged, and only when the
+ * service has at least two instances.
+ *
+ * The race is decided by the primary's response headers, which are held back
+ * until then; a winning primary's body streams to the client untouched. The
+ * hedge's response is buffered, so a hedge whose body exceeds
+ * gateway.hedging.max-body-bytes is abandoned and the primary left to finish.
+ */
+@Component
+public class HedgingFilter extends AbstractGatewayFilterFactory<HedgingFilter.Config> {
+
+    private record Captured(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    private record CachedDelay(long delayNanos, long computedAtNanos) {}
+
+    private static final long DELAY_REFRESH_NANOS = Duration.ofSeconds(1).toNanos();
+
+    // A hedge response too large to buffer; says nothing about the instance's health
+    private static final class OversizedBody extends RuntimeException {
+        OversizedBody() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final HttpClient httpClient;
+    private final LoadBalancerClientFactory clientFactory;
+    private final UpstreamInstanceStats instanceStats;
+    private final LatencyWindows latencyWindows;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry registry;
+    private final int maxBodyBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, HedgeBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<String, CachedDelay> delays = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HttpClient gatewayHttpClient,
+                         LoadBalancerClientFactory clientFactory,
+                         UpstreamInstanceStats instanceStats,
+                         LatencyWindows latencyWindows,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         MeterRegistry registry,
+                         @Value("${gateway.hedging.max-body-bytes:1048576}") int maxBodyBytes) {
+        super(Config.class);
+        this.httpClient = gatewayHttpClient;
+        this.clientFactory = clientFactory;
+        this.instanceStats = instanceStats;
+        this.latencyWindows = latencyWindows;
+        this.headersFilters = headersFilters;
+        this.registry = registry;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            String path = GatewayExchanges.originalUri(exchange).getPath();
+            if (config.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return chain.filter(exchange);
+            }
+            ServiceInstanceListSupplier supplier = instanceSupplier(exchange);
+            if (supplier == null) {
+                return chain.filter(exchange);
+            }
+
+            // With a single instance a hedge would only double that instance's load
+            return supplier.get().next().defaultIfEmpty(List.of()).flatMap(instances -> instances.size() < 2
+                    ? chain.filter(exchange)
+                    : hedged(exchange, chain, config, supplier, path));
+        };
+    }
+
+    private Mono<Void> hedged(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                              ServiceInstanceListSupplier supplier, String path) {
+        String routeId = GatewayExchanges.routeId(exchange);
+        HedgeBudget budget = budgets.computeIfAbsent(routeId, id -> new HedgeBudget(config.getBudgetPercent() / 100.0));
+        budget.onRequest();
+
+        HeldResponse held = new HeldResponse(exchange.getResponse());
+        // Completes when the primary's headers are in; NettyWriteResponseFilter streams its body afterwards
+        Mono<Boolean> primary = chain.filter(exchange.mutate().response(held).build())
+                .then(Mono.just(false));
+
+        Mono<Captured> hedge = Mono.delay(Duration.ofNanos(delayNanos(config, routeId, path)))
+                .then(Mono.defer(() -> {
+                    if (!budget.tryAcquire()) {
+                        count(routeId, "budget_exhausted");
+                        return Mono.<Captured>never();
+                    }
+                    return sendHedge(exchange, supplier, routeId);
+                }))
+                // A failed, oversized or skipped hedge just leaves the primary to finish on its own
+                .onErrorResume(e -> Mono.never())
+                .switchIfEmpty(Mono.never());
+
+        AtomicReference<Captured> hedgeResult = new AtomicReference<>();
+        return Mono.firstWithSignal(primary, hedge.doOnNext(hedgeResult::set).map(captured -> true))
+                .flatMap(hedgeWon -> {
+                    if (!hedgeWon) {
+                        held.release();
+                        return Mono.empty();
+                    }
+                    count(routeId, "won");
+                    // Keep NettyWriteResponseFilter from writing a primary that answered too late
+                    Connection primaryConnection = exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+                    if (primaryConnection != null) {
+                        primaryConnection.dispose();
+                    }
+                    return write(exchange.getResponse(), hedgeResult.get());
+                });
+    }
+
+    // The lb:// service behind this route, or null if the route is not load balanced
+    private ServiceInstanceListSupplier instanceSupplier(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !"lb".equalsIgnoreCase(route.getUri().getScheme()) || route.getUri().getHost() == null) {
+            return null;
+        }
+        return clientFactory.getLazyProvider(route.getUri().getHost(), ServiceInstanceListSupplier.class).getIfAvailable();
+    }
+
+    private long delayNanos(Config config, String routeId, String path) {
+        long fallback = config.getDelay().toNanos();
+        if (config.getQuantile() <= 0) {
+            return fallback;
+        }
+        String template = PathTemplates.normalize(path);
+        String key = routeId + " " + template;
+        long now = System.nanoTime();
+        CachedDelay cached = delays.get(key);
+        if (cached == null || now - cached.computedAtNanos() > DELAY_REFRESH_NANOS) {
+            double millis = latencyWindows.quantileMillis(routeId, template, config.getQuantile(), 60, config.getMinSamples());
+            long delay = millis < 0 ? fallback : (long) (millis * 1_000_000);
+            cached = new CachedDelay(Math.max(config.getMinDelay().toNanos(), delay), now);
+            delays.put(key, cached);
+        }
+        return cached.delayNanos();
+    }
+
+    private Mono<Captured> sendHedge(ServerWebExchange exchange, ServiceInstanceListSupplier supplier, String routeId) {
+        URI primaryUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        Response<ServiceInstance> primary = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (primaryUrl == null || primary == null || !primary.hasServer()) {
+            return Mono.never();
+        }
+        ServiceInstance primaryInstance = primary.getServer();
+
+        return supplier.get().next().flatMap(instances -> {
+            // A different healthy instance, or no hedge at all
+            Optional<ServiceInstance> target = instances.stream()
+                    .filter(instance -> !instance.getUri().equals(primaryInstance.getUri()))
+                    .filter(instance -> !instanceStats.isEjected(instance))
+                    .min(Comparator.comparingInt(instanceStats::outstanding));
+            if (target.isEmpty()) {
+                return Mono.never();
+            }
+            count(routeId, "sent");
+            return call(exchange, target.get(), LoadBalancerUriTools.reconstructURI(target.get(), primaryUrl));
+        });
+    }
+
+    private Mono<Captured> call(ServerWebExchange exchange, ServiceInstance target, URI url) {
+        List<HttpHeadersFilter> filters = headersFilters.getIfAvailable();
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(filters, exchange);
+        requestHeaders.remove(HttpHeaders.HOST);
+
+        Supplier<Mono<Captured>> request = () -> httpClient
+                .headers(headers -> requestHeaders.forEach(headers::add))
+                .get()
+                .uri(url)
+                .response((response, body) -> {
+                    if (response.responseHeaders().getInt(HttpHeaders.CONTENT_LENGTH, -1) > maxBodyBytes) {
+                        return Mono.error(new OversizedBody());
+                    }
+                    // Chunked bodies are counted as they arrive
+                    return body.asByteArray()
+                            .reduce(new ByteArrayOutputStream(), (out, chunk) -> {
+                                if (out.size() + chunk.length > maxBodyBytes) {
+                                    throw new OversizedBody();
+                                }
+                                out.write(chunk, 0, chunk.length);
+                                return out;
+                            })
+                            .map(out -> {
+                                HttpHeaders responseHeaders = new HttpHeaders();
+                                response.responseHeaders().forEach(entry -> responseHeaders.add(entry.getKey(), entry.getValue()));
+                                return new Captured(HttpStatusCode.valueOf(response.status().code()),
+                                        HttpHeadersFilter.filter(filters, responseHeaders, exchange, HttpHeadersFilter.Type.RESPONSE),
+                                        out.toByteArray());
+                            });
+                })
+                .next();
+
+        instanceStats.onStart(target);
+        return Mono.defer(request)
+                .doOnSuccess(result -> instanceStats.onComplete(target, result == null ? null : result.status().value() < 502))
+                .doOnError(e -> instanceStats.onComplete(target, e instanceof OversizedBody ? null : false))
+                .doOnCancel(() -> instanceStats.onComplete(target, null));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, Captured captured) {
+        response.setStatusCode(captured.status());
+        response.getHeaders().putAll(captured.headers());
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(captured.body().length);
+        response.getHeaders().set("X-Hedged", "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body())));
+    }
+
+    private void count(String routeId, String outcome) {
+        registry.counter("gateway.hedge.requests", "route", routeId, "outcome", outcome).increment();
+    }
+
+    // Each request earns ratio of a token, a hedge spends one; the burst cap stops idle routes hoarding hedges
+    private static final class HedgeBudget {
+        private static final double MAX_TOKENS = 10;
+
+        private final double ratio;
+        private double tokens;
+
+        HedgeBudget(double ratio) {
+            this.ratio = ratio;
+        }
+
+        synchronized void onRequest() {
+            tokens = Math.min(MAX_TOKENS, tokens + ratio);
+        }
+
+        synchronized boolean tryAcquire() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    // Keeps the primary's status and headers to itself until the primary has won, so a hedge can still answer instead
+    private static final class HeldResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private volatile HttpStatusCode status;
+
+        HeldResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        void release() {
+            if (status != null) {
+                getDelegate().setStatusCode(status);
+            }
+            getDelegate().getHeaders().putAll(headers);
+        }
+    }
+
+
+    public static class Config {
+        private Duration delay = Duration.ofMillis(200);
+        private Duration minDelay = Duration.ofMillis(20);
+        private double quantile = 0.95;
+        private long minSamples = 50;
+        private double budgetPercent = 10;
+        private List<String> paths = new ArrayList<>();
+
+        public Duration getDelay() { return delay; }
+        public void setDelay(Duration delay) { this.delay = delay; }
+
+        public Duration getMinDelay() { return minDelay; }
+        public void setMinDelay(Duration minDelay) { this.minDelay = minDelay; }
+
+        public double getQuantile() { return quantile; }
+        public void setQuantile(double quantile) { this.quantile = quantile; }
+
+        public long getMinSamples() { return minSamples; }
+        public void setMinSamples(long minSamples) { this.minSamples = minSamples; }
+
+        public double getBudgetPercent() { return budgetPercent; }
+        public void setBudgetPercent(double budgetPercent) { this.budgetPercent = budgetPercent; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+    }
+}
@@ -0,0 +1,128 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retries GET/HEAD/OPTIONS with exponential backoff and jitter, so retries
+ * from many clients do not arrive at a recovering upstream in lockstep. Only
+ * failures that are safe and cheap to repeat are retried: I/O errors
+ * (connection refused or reset) and the configured gateway statuses. Timeouts
+ * are not retried; a slow upstream should not get the same load twice. The
+ * final attempt's response is passed through unchanged.
+ *
+ * List it after CircuitBreaker on a route so it runs inside the breaker: the
+ * breaker and its statusCodes then see one call, with the last attempt's
+ * outcome, instead of failing over to the fallback on the first 503.
+ */
+@Component
+public class JitteredRetryFilter extends AbstractGatewayFilterFactory<JitteredRetryFilter.Config> {
+
+    // Bodiless and idempotent, so a retry never has to replay a consumed request body
+    private static final Set<HttpMethod> RETRYABLE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private static final class RetryableStatusException extends RuntimeException {
+        RetryableStatusException(HttpStatusCode status) {
+            super("Upstream responded " + status.value(), null, false, false);
+        }
+    }
+
+    private final MeterRegistry registry;
+
+    public JitteredRetryFilter(MeterRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Set<Integer> statuses = Set.copyOf(config.getStatuses());
+
+        return (exchange, chain) -> {
+            if (config.getRetries() <= 0 || !RETRYABLE_METHODS.contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = GatewayExchanges.routeId(exchange);
+            AtomicInteger attempt = new AtomicInteger();
+            return Mono.defer(() -> {
+                        int current = attempt.getAndIncrement();
+                        if (current > 0) {
+                            // Drop the previous attempt's connection, upstream headers and routed flag
+                            ServerWebExchangeUtils.reset(exchange);
+                            registry.counter("gateway.retry.attempts", "route", routeId).increment();
+                        }
+                        boolean last = current >= config.getRetries();
+                        // Route filters run after NettyWriteResponseFilter, so the chain completes once the
+                        // upstream headers are in and before the body is written: the status can still be undone
+                        return chain.filter(exchange).then(Mono.defer(() -> {
+                            HttpStatusCode status = exchange.getResponse().getStatusCode();
+                            if (last || status == null || !statuses.contains(status.value())) {
+                                return Mono.empty();
+                            }
+                            discardUpstreamResponse(exchange);
+                            return Mono.error(new RetryableStatusException(status));
+                        }));
+                    })
+                    .retryWhen(Retry.backoff(config.getRetries(), config.getFirstBackoff())
+                            .maxBackoff(config.getMaxBackoff())
+                            .jitter(config.getJitter())
+                            .filter(JitteredRetryFilter::isRetryable)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        };
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        return error instanceof RetryableStatusException || error instanceof IOException;
+    }
+
+    // The body of a retried response is never read; close its connection rather than return it to the pool half-read
+    private static void discardUpstreamResponse(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+
+
+    public static class Config {
+        private int retries = 2;
+        private List<Integer> statuses = new ArrayList<>(List.of(502, 503, 504));
+        private Duration firstBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private double jitter = 0.5;
+
+        public int getRetries() { return retries; }
+        public void setRetries(int retries) { this.retries = retries; }
+
+        public List<Integer> getStatuses() { return statuses; }
+        public void setStatuses(List<Integer> statuses) { this.statuses = statuses; }
+
+        public Duration getFirstBackoff() { return firstBackoff; }
+        public void setFirstBackoff(Duration firstBackoff) { this.firstBackoff = firstBackoff; }
+
+        public Duration getMaxBackoff() { return maxBackoff; }
+        public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+
+        public double getJitter() { return jitter; }
+        public void setJitter(double jitter) { this.jitter = jitter; }
+    }
+}
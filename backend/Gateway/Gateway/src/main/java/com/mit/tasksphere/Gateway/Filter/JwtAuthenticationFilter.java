@@ -1,43 +1,41 @@
 package com.mit.tasksphere.Gateway.Filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import com.mit.tasksphere.Gateway.util.JwtVerifier;
+import com.mit.tasksphere.Gateway.util.VerifiedTokenCache.VerifiedToken;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Exchange attribute holding the verified user id, for filters later in the chain
+    public static final String USER_ID_ATTR = JwtAuthenticationFilter.class.getName() + ".userId";
 
+    private final JwtVerifier jwtVerifier;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-
-    
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
         super(Config.class);
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
-    public GatewayFilter apply(Config config) {  
-        
-    if (jwtSecret == null || jwtSecret.isBlank()) {
-        throw new IllegalStateException("JWT_SECRET is not configured");
-    }
+    public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
-            String path = request.getPath().value();
+            // Client-facing path, so publicPaths hold regardless of StripPrefix
+            String path = GatewayExchanges.originalUri(exchange).getPath();
 
-            // Skip JWT validation for login endpoint
-            if (path.equals("/api/users/login")) {
+            // Skip JWT validation for public endpoints (login, register)
+            if (config.getPublicPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
                 return chain.filter(exchange);
             }
 
@@ -49,26 +47,19 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             try {
                 String token = authHeader.substring(7);
-                SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-                
-                Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-                String userId = claims.get("userId", String.class);
-                String email = claims.getSubject();
-                String roles = claims.get("roles", String.class);
+                VerifiedToken verified = jwtVerifier.verify(token);
 
                 // Add headers for downstream services - CRITICAL for TaskService authentication
                 ServerHttpRequest modifiedRequest = request.mutate()
                     .header("X-Gateway-Auth", "validated")
-                    .header("X-User-Id", userId)
-                    .header("X-User-Email", email)
-                    .header("X-User-Roles", roles)
+                    .header("X-User-Id", verified.userId())
+                    .header("X-User-Email", verified.email())
+                    .header("X-User-Roles", verified.roles())
                     .build();
 
+                if (verified.userId() != null) {
+                    exchange.getAttributes().put(USER_ID_ATTR, verified.userId());
+                }
                 return chain.filter(exchange.mutate().request(modifiedRequest).build());
 
             } catch (Exception e) {
@@ -80,6 +71,9 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
 
     public static class Config {
-        // Configuration properties if needed
+        private List<String> publicPaths = new ArrayList<>(List.of("/api/users/login"));
+
+        public List<String> getPublicPaths() { return publicPaths; }
+        public void setPublicPaths(List<String> publicPaths) { this.publicPaths = publicPaths; }
     }
-}
\ No newline at end of file
+}
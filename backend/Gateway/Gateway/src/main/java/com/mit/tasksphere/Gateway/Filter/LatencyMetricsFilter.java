@@ -0,0 +1,76 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import com.mit.tasksphere.Gateway.util.LatencyWindows;
+import com.mit.tasksphere.Gateway.util.PathTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Times every routed request by route id, status class and path template.
+ * The gateway.route.latency timer publishes histogram buckets for Prometheus;
+ * LatencyWindows keeps the recent per-path view behind /actuator/latency.
+ */
+@Component
+public class LatencyMetricsFilter implements GlobalFilter, Ordered {
+
+    private final MeterRegistry registry;
+    private final LatencyWindows windows;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public LatencyMetricsFilter(MeterRegistry registry, LatencyWindows windows) {
+        this.registry = registry;
+        this.windows = windows;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        // Captured up front, before StripPrefix and friends rewrite the request
+        String path = exchange.getRequest().getPath().value();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        return chain.filter(exchange)
+            .doOnError(failure::set)
+            .doFinally(signalType -> record(exchange, path, System.nanoTime() - start, failure.get()));
+    }
+
+    private void record(ServerWebExchange exchange, String path, long durationNanos, Throwable error) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : (error != null ? 500 : 200);
+        String routeId = GatewayExchanges.routeId(exchange);
+
+        String template = windows.record(routeId, PathTemplates.normalize(path), durationNanos / 1000,
+                error != null || status >= 500);
+        timer(routeId, status / 100 + "xx", template).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String routeId, String statusClass, String template) {
+        return timers.computeIfAbsent(routeId + " " + statusClass + " " + template, key -> Timer.builder("gateway.route.latency")
+                .tag("route", routeId)
+                .tag("status", statusClass)
+                .tag("path", template)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.UpstreamInstanceStats;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Feeds UpstreamInstanceStats for lb:// routes. The call is opened right
+ * after the load balancer has picked an instance and judged when the response
+ * headers arrive: connection errors and gateway statuses count as failures,
+ * ordinary 500s from the application do not. It is only closed once the body
+ * has been written to the client (or the client went away), by BodyCompletion
+ * which wraps NettyWriteResponseFilter, so a long download keeps counting as
+ * outstanding for its whole duration.
+ */
+@Component
+public class LoadBalancerStatsFilter implements GlobalFilter, Ordered {
+
+    private static final Set<Integer> FAILURE_STATUSES = Set.of(502, 503, 504);
+    private static final String CALL_ATTR = LoadBalancerStatsFilter.class.getName() + ".call";
+
+    // One upstream attempt; closed exactly once, whichever side gets there first
+    private static final class Call {
+        final ServiceInstance instance;
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile Boolean success;
+
+        Call(ServiceInstance instance) {
+            this.instance = instance;
+        }
+
+        void close(UpstreamInstanceStats stats) {
+            if (closed.compareAndSet(false, true)) {
+                stats.onComplete(instance, success);
+            }
+        }
+    }
+
+    private final UpstreamInstanceStats stats;
+
+    public LoadBalancerStatsFilter(UpstreamInstanceStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        // A retry reaches here again; the earlier attempt is over by then
+        Call previous = exchange.getAttribute(CALL_ATTR);
+        if (previous != null) {
+            previous.close(stats);
+        }
+
+        Call call = new Call(lbResponse.getServer());
+        stats.onStart(call.instance);
+        exchange.getAttributes().put(CALL_ATTR, call);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        return chain.filter(exchange)
+            .doOnError(failure::set)
+            .doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    call.close(stats);
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                call.success = failure.get() == null && (status == null || !FAILURE_STATUSES.contains(status.value()));
+                if (failure.get() != null) {
+                    // No body will follow
+                    call.close(stats);
+                }
+            });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    /**
+     * Closes the call once NettyWriteResponseFilter has streamed the body to
+     * the client, or on error or cancel. It wraps the whole chain, so every
+     * call LoadBalancerStatsFilter opened is closed here at the latest.
+     */
+    @Component
+    public static class BodyCompletion implements GlobalFilter, Ordered {
+
+        private final UpstreamInstanceStats stats;
+
+        public BodyCompletion(UpstreamInstanceStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            return chain.filter(exchange).doFinally(signal -> {
+                Call call = exchange.getAttribute(CALL_ATTR);
+                if (call != null) {
+                    call.close(stats);
+                }
+            });
+        }
+
+        @Override
+        public int getOrder() {
+            return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.BodyTee;
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import com.mit.tasksphere.Gateway.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for identical concurrent GETs. The first request for a key
+ * (the leader) goes upstream; requests that arrive while it is in flight wait
+ * for its response and get a copy of the status, headers and body. The
+ * leader's body streams to its own client; only 2xx responses without
+ * Set-Cookie or Cache-Control private/no-store, within max-body-bytes, are
+ * shared. Anything else (an error, a 401/403, an oversized body) sends the
+ * waiters on their own upstream call.
+ *
+ * With perUser=true (the default) only requests from the same principal are
+ * coalesced: the verified user id, or else the digest of the Authorization
+ * header, so one caller's response never reaches another. Set perUser=false
+ * only for responses that are the same for everyone. paths limits coalescing
+ * to matching client-facing paths (all GETs when empty).
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private record SharedResponse(int status, HttpHeaders headers, byte[] body) {}
+
+    private final Map<String, Mono<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final int maxBodyBytes;
+    private final MeterRegistry registry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestCoalescingFilter(@Value("${gateway.coalescing.max-in-flight:1024}") int maxInFlight,
+                                   @Value("${gateway.coalescing.max-body-bytes:1048576}") int maxBodyBytes,
+                                   MeterRegistry registry) {
+        super(Config.class);
+        this.maxInFlight = maxInFlight;
+        this.maxBodyBytes = maxBodyBytes;
+        this.registry = registry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            URI uri = GatewayExchanges.originalUri(exchange);
+            if (!config.getPaths().isEmpty()
+                    && config.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, uri.getPath()))) {
+                return chain.filter(exchange);
+            }
+
+            String principal = principal(exchange);
+            if (config.isPerUser() && principal == null) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = GatewayExchanges.routeId(exchange);
+            String key = routeId + " " + GatewayExchanges.pathAndQuery(uri)
+                    + (config.isPerUser() ? " #" + principal : "")
+                    + " " + exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+
+            Mono<SharedResponse> existing = inFlight.get(key);
+            if (existing != null) {
+                count(routeId, "follower");
+                return existing
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> shared.isPresent()
+                                ? write(exchange.getResponse(), shared.get())
+                                : chain.filter(exchange));
+            }
+            if (inFlight.size() >= maxInFlight) {
+                return chain.filter(exchange);
+            }
+
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Mono<SharedResponse> shared = sink.asMono();
+            if (inFlight.putIfAbsent(key, shared) != null) {
+                // Lost the race to become leader; take the normal path rather than retrying
+                return chain.filter(exchange);
+            }
+            count(routeId, "leader");
+            // The leader's chain completes with the headers; its body is only written after that
+            Runnable finish = () -> {
+                inFlight.remove(key, shared);
+                sink.tryEmitEmpty();
+            };
+            if (!ResponseBodyBridgeFilter.onWritten(exchange, finish)) {
+                return lead(exchange, chain, sink).doFinally(signal -> finish.run());
+            }
+            return lead(exchange, chain, sink);
+        };
+    }
+
+    // Verified user id if an earlier filter set one; otherwise whoever holds this exact Authorization value
+    private static String principal(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return authorization != null ? "auth:" + VerifiedTokenCache.digest(authorization) : null;
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<SharedResponse> sink) {
+        return chain.filter(ResponseBodyBridgeFilter.decorate(exchange, response -> new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                if (!isShareable(status, getHeaders())) {
+                    return super.writeWith(body);
+                }
+                BodyTee tee = new BodyTee(maxBodyBytes);
+                return super.writeWith(Flux.from(body)
+                        .doOnNext(tee::copy)
+                        .doOnComplete(() -> {
+                            if (!tee.isTruncated()) {
+                                sink.tryEmitValue(new SharedResponse(status.value(),
+                                        GatewayExchanges.replayableHeaders(getHeaders()), tee.bytes()));
+                            }
+                        }));
+            }
+        }));
+    }
+
+    private boolean isShareable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || !status.is2xxSuccessful() || headers.containsKey(HttpHeaders.SET_COOKIE)
+                || headers.getContentLength() > maxBodyBytes) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        response.getHeaders().set("X-Coalesced", "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private void count(String routeId, String role) {
+        registry.counter("gateway.coalescing.requests", "route", routeId, "role", role).increment();
+    }
+
+
+    public static class Config {
+        private boolean perUser = true;
+        private List<String> paths = new ArrayList<>();
+
+        public boolean isPerUser() { return perUser; }
+        public void setPerUser(boolean perUser) { this.perUser = perUser; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+    }
+}
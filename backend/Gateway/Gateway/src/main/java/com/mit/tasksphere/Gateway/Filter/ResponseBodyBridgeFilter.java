@@ -0,0 +1,88 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lets route filters see the upstream response body. NettyWriteResponseFilter
+ * writes the body to the response of the exchange it was handed, and it runs
+ * before every route filter, so a decorator that a route filter puts on a
+ * mutated exchange only ever sees status and headers. This filter sits just
+ * outside NettyWriteResponseFilter and hands it a response whose target route
+ * filters replace through {@link #decorate}; the body then passes through
+ * their decorators on its way to the client. Route filters whose own chain
+ * completes when the headers arrive use {@link #onWritten} to learn when the
+ * body is done.
+ */
+@Component
+public class ResponseBodyBridgeFilter implements GlobalFilter, Ordered {
+
+    private static final String BRIDGE_ATTR = ResponseBodyBridgeFilter.class.getName() + ".bridge";
+
+    private static final class Bridge extends ServerHttpResponseDecorator {
+        private volatile ServerHttpResponse target;
+        private final List<Runnable> onWritten = new CopyOnWriteArrayList<>();
+
+        Bridge(ServerHttpResponse delegate) {
+            super(delegate);
+            this.target = delegate;
+        }
+
+        @Override
+        public ServerHttpResponse getDelegate() {
+            return target;
+        }
+    }
+
+    /**
+     * Wraps the response that the upstream body will be written to and
+     * returns an exchange using the wrapper, for the rest of the chain.
+     */
+    public static ServerWebExchange decorate(ServerWebExchange exchange, UnaryOperator<ServerHttpResponse> decorator) {
+        Bridge bridge = exchange.getAttribute(BRIDGE_ATTR);
+        if (bridge == null) {
+            return exchange.mutate().response(decorator.apply(exchange.getResponse())).build();
+        }
+        ServerHttpResponse decorated = decorator.apply(bridge.target);
+        bridge.target = decorated;
+        return exchange.mutate().response(decorated).build();
+    }
+
+    /**
+     * Runs action once the response body has been written, or the exchange
+     * failed or was cancelled. Returns false, without running it, when the
+     * exchange did not come through this filter.
+     */
+    public static boolean onWritten(ServerWebExchange exchange, Runnable action) {
+        Bridge bridge = exchange.getAttribute(BRIDGE_ATTR);
+        if (bridge == null) {
+            return false;
+        }
+        bridge.onWritten.add(action);
+        return true;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Bridge bridge = new Bridge(exchange.getResponse());
+        exchange.getAttributes().put(BRIDGE_ATTR, bridge);
+        return chain.filter(exchange.mutate().response(bridge).build())
+                .doFinally(signal -> bridge.onWritten.forEach(Runnable::run));
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.BodyTee;
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import com.mit.tasksphere.Gateway.util.ResponseCacheStore;
+import com.mit.tasksphere.Gateway.util.ResponseCacheStore.CachedResponse;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves repeated GETs from ResponseCacheStore instead of calling the
+ * upstream. Only 200 responses without Set-Cookie or Cache-Control
+ * no-store/private are stored. The body streams to the client as it arrives
+ * and a copy is kept only while it stays under max-entry-bytes. Entries are
+ * keyed by Accept-Encoding too, since the upstream may have compressed the body.
+ *
+ * With perUser=true the verified user id is part of the key and anonymous
+ * requests bypass the cache; list JwtAuthenticationFilter first. Leave it
+ * false only for responses that anyone may see. Any non-GET request through
+ * the route purges that route's entries.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private final ResponseCacheStore store;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheFilter(ResponseCacheStore store) {
+        super(Config.class);
+        this.store = store;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long ttlNanos = config.getTtl().toNanos();
+
+        return (exchange, chain) -> {
+            String routeId = GatewayExchanges.routeId(exchange);
+
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doOnSuccess(v -> store.purgeRoute(routeId));
+            }
+
+            URI uri = GatewayExchanges.originalUri(exchange);
+            if (!matches(config, uri.getPath()) || noStore(exchange.getRequest().getHeaders())) {
+                return chain.filter(exchange);
+            }
+
+            String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+            if (config.isPerUser() && userId == null) {
+                return chain.filter(exchange);
+            }
+
+            String key = store.key(routeId, GatewayExchanges.pathAndQuery(uri)
+                    + (config.isPerUser() ? " #" + userId : "")
+                    + " " + exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+            CachedResponse cached = store.get(key);
+            if (cached != null) {
+                return writeCached(exchange.getResponse(), cached);
+            }
+
+            // Through the bridge, so the body NettyWriteResponseFilter writes passes this decorator
+            return chain.filter(ResponseBodyBridgeFilter.decorate(exchange, response -> new ServerHttpResponseDecorator(response) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (!isCacheable(getStatusCode(), getHeaders())) {
+                        return super.writeWith(body);
+                    }
+                    // Chunked bodies have no Content-Length; count while streaming and give up past the limit
+                    BodyTee tee = new BodyTee(store.getMaxEntryBytes());
+                    return super.writeWith(Flux.from(body)
+                            .doOnNext(tee::copy)
+                            .doOnComplete(() -> {
+                                if (!tee.isTruncated()) {
+                                    store.put(key, new CachedResponse(routeId, uri.getPath(), getStatusCode().value(),
+                                            GatewayExchanges.replayableHeaders(getHeaders()), tee.bytes(), ttlNanos));
+                                }
+                            }));
+                }
+            }));
+        };
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().setContentLength(cached.body().length);
+        response.getHeaders().set("X-Cache", "HIT");
+        // wrap() shares the stored array; nothing downstream writes into it
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean isCacheable(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != 200 || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        long length = headers.getContentLength();
+        if (length > store.getMaxEntryBytes()) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean noStore(HttpHeaders requestHeaders) {
+        String cacheControl = requestHeaders.getCacheControl();
+        return cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("no-cache"));
+    }
+
+    private boolean matches(Config config, String path) {
+        return config.getPaths().isEmpty()
+                || config.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(10);
+        private boolean perUser = false;
+        private List<String> paths = new ArrayList<>();
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public boolean isPerUser() { return perUser; }
+        public void setPerUser(boolean perUser) { this.perUser = perUser; }
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+    }
+}
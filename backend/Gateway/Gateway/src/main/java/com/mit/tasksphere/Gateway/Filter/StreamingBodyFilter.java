@@ -0,0 +1,97 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Body-size guard for routes with "streaming: true" metadata (bulk import and
+ * export). Bodies on these routes are never aggregated: the Netty routing
+ * filter forwards each buffer as it arrives and only asks for more as the
+ * other side drains, so memory stays flat whatever the payload size. That
+ * only holds while no filter on the route buffers, so streaming routes must
+ * not use ResponseCacheFilter, RequestCoalescingFilter, JitteredRetryFilter,
+ * HedgingFilter or a CircuitBreaker with a time limiter.
+ *
+ * A request whose Content-Length exceeds max-request-size metadata gets 413
+ * before the upstream is contacted; a chunked request is counted as it
+ * streams and failed with 413 as soon as it crosses the limit.
+ */
+@Component
+public class StreamingBodyFilter implements GlobalFilter, Ordered {
+
+    public static final String MAX_REQUEST_SIZE_METADATA = "max-request-size";
+
+    private final DataSize defaultMaxRequestSize;
+
+    public StreamingBodyFilter(@Value("${gateway.streaming.max-request-size:100MB}") DataSize defaultMaxRequestSize) {
+        this.defaultMaxRequestSize = defaultMaxRequestSize;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!GatewayExchanges.isStreamingRoute(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        long maxBytes = maxRequestBytes(exchange);
+        ServerHttpRequest request = exchange.getRequest();
+        long contentLength = request.getHeaders().getContentLength();
+        if (contentLength > maxBytes) {
+            exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+            // The client is still sending; don't leave the connection half-read
+            exchange.getResponse().getHeaders().set(HttpHeaders.CONNECTION, "close");
+            return exchange.getResponse().setComplete();
+        }
+        if (contentLength >= 0) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequestDecorator limited = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> {
+                    long[] seen = {0};
+                    return super.getBody().handle((buffer, sink) -> {
+                        seen[0] += buffer.readableByteCount();
+                        if (seen[0] > maxBytes) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                    "Request body exceeds " + maxBytes + " bytes"));
+                            return;
+                        }
+                        sink.next(buffer);
+                    });
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().request(limited).build());
+    }
+
+    private long maxRequestBytes(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Object configured = route.getMetadata().get(MAX_REQUEST_SIZE_METADATA);
+        return configured != null ? DataSize.parse(String.valueOf(configured)).toBytes() : defaultMaxRequestSize.toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+}
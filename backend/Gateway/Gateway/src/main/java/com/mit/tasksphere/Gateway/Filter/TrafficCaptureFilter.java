@@ -0,0 +1,147 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import com.mit.tasksphere.Gateway.util.BodyTee;
+import com.mit.tasksphere.Gateway.util.CaptureLogWriter;
+import com.mit.tasksphere.Gateway.util.CaptureRecord;
+import com.mit.tasksphere.Gateway.util.GatewayExchanges;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Opt-in (gateway.capture.enabled) sampled traffic capture for replay with
+ * CaptureReplay. A sampled request's method, client-facing path, headers,
+ * body and the gateway's status and latency are handed to CaptureLogWriter.
+ * The body is copied as it streams to the upstream, up to max-body-bytes, so
+ * capture never buffers a request the route would not have buffered.
+ *
+ * Secrets are redacted before anything leaves the filter: listed headers are
+ * replaced, listed fields are masked in JSON and form bodies and in the query
+ * string, and bodies of any other content type are not kept at all.
+ * Streaming routes are never captured.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.capture.enabled", havingValue = "true")
+public class TrafficCaptureFilter implements GlobalFilter, Ordered {
+
+    public static final String REDACTED = "[REDACTED]";
+
+    private final CaptureLogWriter writer;
+    private final double sampleRate;
+    private final int maxBodyBytes;
+    private final List<String> redactHeaders;
+    private final Pattern jsonFields;
+    private final Pattern formFields;
+
+    public TrafficCaptureFilter(CaptureLogWriter writer,
+                                @Value("${gateway.capture.sample-rate:0.01}") double sampleRate,
+                                @Value("${gateway.capture.max-body-bytes:16KB}") DataSize maxBodySize,
+                                @Value("${gateway.capture.redact-headers:Authorization,Proxy-Authorization,Cookie,X-Api-Key}") List<String> redactHeaders,
+                                @Value("${gateway.capture.redact-fields:password,newPassword,oldPassword,token,accessToken,refreshToken,secret,otp,code}") List<String> redactFields) {
+        this.writer = writer;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = (int) maxBodySize.toBytes();
+        this.redactHeaders = redactHeaders;
+        String fields = String.join("|", redactFields.stream().map(Pattern::quote).toList());
+        this.jsonFields = Pattern.compile("(\"(?:" + fields + ")\"\\s*:\\s*)(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}\\]\\s]+)",
+                Pattern.CASE_INSENSITIVE);
+        this.formFields = Pattern.compile("((?:^|[?&])(?:" + fields + ")=)[^&]*", Pattern.CASE_INSENSITIVE);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (GatewayExchanges.isStreamingRoute(exchange) || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return chain.filter(exchange);
+        }
+
+        long startMicros = System.currentTimeMillis() * 1000;
+        long start = System.nanoTime();
+        ServerHttpRequest request = exchange.getRequest();
+        MediaType contentType = request.getHeaders().getContentType();
+        BodyTee tee = isRedactable(contentType) ? new BodyTee(maxBodyBytes) : null;
+
+        ServerHttpRequestDecorator teed = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                Flux<DataBuffer> body = super.getBody();
+                return tee != null ? body.doOnNext(tee::copy) : body;
+            }
+        };
+
+        return chain.filter(exchange.mutate().request(teed).build())
+            .doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                writer.offer(new CaptureRecord(
+                        startMicros,
+                        (System.nanoTime() - start) / 1000,
+                        status != null ? status.value() : 0,
+                        request.getMethod().name(),
+                        GatewayExchanges.routeId(exchange),
+                        redactQuery(GatewayExchanges.pathAndQuery(GatewayExchanges.originalUri(exchange))),
+                        redactedHeaders(request.getHeaders()),
+                        tee != null ? redactBody(tee.bytes(), contentType) : new byte[0],
+                        tee == null ? request.getHeaders().getContentLength() > 0 : tee.isTruncated()));
+            });
+    }
+
+    private Map<String, String> redactedHeaders(HttpHeaders headers) {
+        Map<String, String> captured = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            boolean secret = redactHeaders.stream().anyMatch(name::equalsIgnoreCase);
+            captured.put(name, secret ? REDACTED : String.join(",", values));
+        });
+        return captured;
+    }
+
+    private String redactQuery(String pathAndQuery) {
+        int q = pathAndQuery.indexOf('?');
+        if (q < 0) {
+            return pathAndQuery;
+        }
+        return pathAndQuery.substring(0, q) + formFields.matcher(pathAndQuery.substring(q)).replaceAll("$1" + REDACTED);
+    }
+
+    private byte[] redactBody(byte[] body, MediaType contentType) {
+        if (body.length == 0) {
+            return body;
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        String redacted = MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType)
+                ? formFields.matcher(text).replaceAll("$1" + REDACTED)
+                : jsonFields.matcher(text).replaceAll("$1\"" + REDACTED + "\"");
+        return redacted.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Bodies we know how to redact; anything else (multipart, binary) is dropped
+    private static boolean isRedactable(MediaType contentType) {
+        return contentType != null
+                && (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    || contentType.getSubtype().endsWith("+json")
+                    || MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+}
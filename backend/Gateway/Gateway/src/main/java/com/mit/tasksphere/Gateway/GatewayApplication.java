@@ -21,6 +21,6 @@ public class GatewayApplication {
 	public void onApplicationReady() {
 		logger.info("✅ GATEWAY READY: TaskSphere API Gateway is running on port 8090");
 		logger.info("🔍 GATEWAY ROUTES: /api/users/** -> UserService:8086, /api/tasks/** -> TaskService:8087");
-		logger.info("📊 GATEWAY MONITORING: All requests will be logged with trace IDs");
+		logger.info("📊 GATEWAY MONITORING: Access log written to logger 'gateway.access' (errors + slow requests always, successes sampled)");
 	}
 }
@@ -0,0 +1,223 @@
+package com.mit.tasksphere.Gateway.tools;
+
+import com.mit.tasksphere.Gateway.Filter.TrafficCaptureFilter;
+import com.mit.tasksphere.Gateway.util.CaptureRecord;
+import com.mit.tasksphere.Gateway.util.PathTemplates;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replays traffic recorded by TrafficCaptureFilter against a target and
+ * compares latency per route and path template with what the gateway saw
+ * when it was captured. Requests are sent at their original offsets divided
+ * by --speed, each on its own virtual thread, so bursts and gaps keep their
+ * shape. Redacted headers are not sent; supply test credentials with --header.
+ *
+ * <pre>
+ * java -cp gateway.jar -Dloader.main=com.mit.tasksphere.Gateway.tools.CaptureReplay \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --capture capture/ --target http://localhost:8080 --speed 2 \
+ *     --header "Authorization: Bearer &lt;test token&gt;"
+ * </pre>
+ *
+ * Only GET, HEAD and OPTIONS are replayed unless --methods says otherwise
+ * (--methods ALL replays writes too, so point it at a disposable environment).
+ */
+public final class CaptureReplay {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "host", "connection", "content-length", "expect", "upgrade", "transfer-encoding", "keep-alive");
+
+    private record Result(String key, long originalMicros, long replayMicros,
+                          int originalStatus, int replayStatus, long lagMicros) {}
+
+    private CaptureReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<String>> options = parse(args);
+        Path capture = Path.of(required(options, "capture"));
+        URI target = URI.create(required(options, "target"));
+        double speed = Double.parseDouble(first(options, "speed", "1"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(first(options, "timeout-seconds", "30")));
+        String methods = first(options, "methods", "GET,HEAD,OPTIONS").toUpperCase(Locale.ROOT);
+        Set<String> allowedMethods = methods.equals("ALL") ? null : Set.of(methods.split(","));
+        Map<String, String> extraHeaders = new LinkedHashMap<>();
+        for (String header : options.getOrDefault("header", List.of())) {
+            int colon = header.indexOf(':');
+            extraHeaders.put(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+        }
+
+        List<CaptureRecord> records = load(capture);
+        int total = records.size();
+        records = records.stream()
+                .filter(r -> allowedMethods == null || allowedMethods.contains(r.method()))
+                .filter(r -> !r.bodyTruncated())
+                .toList();
+        System.out.printf("Replaying %d of %d captured requests against %s at %.1fx%n",
+                records.size(), total, target, speed);
+        if (records.isEmpty()) {
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        ConcurrentLinkedQueue<Result> results = new ConcurrentLinkedQueue<>();
+        long firstStart = records.get(0).startEpochMicros();
+        long replayStart = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CaptureRecord record : records) {
+                long dueNanos = replayStart + (long) ((record.startEpochMicros() - firstStart) * 1000 / speed);
+                long sleep = dueNanos - System.nanoTime();
+                if (sleep > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                }
+                executor.submit(() -> results.add(send(client, target, record, extraHeaders, timeout, dueNanos)));
+            }
+        }
+
+        report(new ArrayList<>(results));
+    }
+
+    private static Result send(HttpClient client, URI target, CaptureRecord record,
+                               Map<String, String> extraHeaders, Duration timeout, long dueNanos) {
+        long start = System.nanoTime();
+        String key = record.routeId() + " " + record.method() + " " + PathTemplates.normalize(pathOf(record));
+        HttpRequest.Builder request = HttpRequest.newBuilder(target.resolve(record.pathAndQuery()))
+                .timeout(timeout)
+                .method(record.method(), record.body().length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(record.body())
+                        : HttpRequest.BodyPublishers.noBody());
+        record.headers().forEach((name, value) -> {
+            if (!TrafficCaptureFilter.REDACTED.equals(value)
+                    && !RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))
+                    && extraHeaders.keySet().stream().noneMatch(name::equalsIgnoreCase)) {
+                request.header(name, value);
+            }
+        });
+        extraHeaders.forEach(request::header);
+
+        int status;
+        try {
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        long replayMicros = (System.nanoTime() - start) / 1000;
+        return new Result(key, record.durationMicros(), replayMicros, record.status(), status, (start - dueNanos) / 1000);
+    }
+
+    private static void report(List<Result> results) {
+        Map<String, List<Result>> byKey = new TreeMap<>();
+        for (Result result : results) {
+            byKey.computeIfAbsent(result.key(), k -> new ArrayList<>()).add(result);
+        }
+
+        System.out.printf("%n%-60s %6s %10s %10s %10s %10s %8s %8s %6s%n", "route method path", "count",
+                "orig p50", "replay p50", "orig p99", "replay p99", "d p50", "d p99", "status");
+        byKey.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, List<Result>> e) -> e.getValue().size()).reversed())
+                .forEach(e -> printRow(e.getKey(), e.getValue()));
+        printRow("ALL", results);
+
+        long maxLag = results.stream().mapToLong(Result::lagMicros).max().orElse(0);
+        System.out.printf("%nMax send lag behind schedule: %.1f ms%s%n", maxLag / 1000.0,
+                maxLag > 50_000 ? " (replayer could not keep up; lower --speed for faithful timing)" : "");
+    }
+
+    private static void printRow(String key, List<Result> results) {
+        long[] original = results.stream().mapToLong(Result::originalMicros).sorted().toArray();
+        long[] replay = results.stream().mapToLong(Result::replayMicros).sorted().toArray();
+        long statusMismatches = results.stream().filter(r -> r.originalStatus() != r.replayStatus()).count();
+        double o50 = quantileMillis(original, 0.5);
+        double r50 = quantileMillis(replay, 0.5);
+        double o99 = quantileMillis(original, 0.99);
+        double r99 = quantileMillis(replay, 0.99);
+        System.out.printf("%-60s %6d %10.1f %10.1f %10.1f %10.1f %8s %8s %6d%n",
+                key.length() > 60 ? key.substring(0, 57) + "..." : key, results.size(),
+                o50, r50, o99, r99, delta(o50, r50), delta(o99, r99), statusMismatches);
+    }
+
+    private static double quantileMillis(long[] sortedMicros, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+
+    private static String delta(double original, double replay) {
+        return original > 0 ? String.format("%+.0f%%", (replay - original) / original * 100) : "-";
+    }
+
+    private static String pathOf(CaptureRecord record) {
+        int q = record.pathAndQuery().indexOf('?');
+        return q < 0 ? record.pathAndQuery() : record.pathAndQuery().substring(0, q);
+    }
+
+    private static List<CaptureRecord> load(Path capture) throws IOException {
+        List<Path> segments;
+        if (Files.isDirectory(capture)) {
+            try (Stream<Path> files = Files.list(capture)) {
+                segments = files.filter(p -> p.getFileName().toString().endsWith(".bin")).sorted().toList();
+            }
+        } else {
+            segments = List.of(capture);
+        }
+        List<CaptureRecord> records = new ArrayList<>();
+        for (Path segment : segments) {
+            records.addAll(CaptureRecord.readSegment(segment));
+        }
+        records.sort(Comparator.comparingLong(CaptureRecord::startEpochMicros));
+        return records;
+    }
+
+    // --name value pairs; repeated names accumulate
+    private static Map<String, List<String>> parse(String[] args) {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + Arrays.toString(args));
+            }
+            options.computeIfAbsent(args[i].substring(2), k -> new ArrayList<>()).add(args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String required(Map<String, List<String>> options, String name) {
+        String value = first(options, name, null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static String first(Map<String, List<String>> options, String name, String fallback) {
+        List<String> values = options.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : fallback;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mit.tasksphere.Gateway.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer between the event loop and the access log. Request
+ * threads only call {@link #offer}; a single background thread turns entries
+ * into JSON and writes them to the "gateway.access" logger. When the buffer
+ * is full, entries are dropped and counted rather than blocking Netty.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("gateway.access");
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    public record Entry(long timestampMillis, String requestId, String method, String path,
+                        String routeId, int status, long durationMicros, String client,
+                        Map<String, String> headers, String error) {}
+
+    private final BlockingQueue<Entry> buffer;
+    private final Counter dropped;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public AccessLogWriter(@Value("${gateway.access-log.buffer-size:8192}") int bufferSize,
+                           ObjectMapper objectMapper,
+                           MeterRegistry registry) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("gateway.access_log.dropped")
+                .description("Access log entries dropped because the buffer was full")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drain, "access-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    public void offer(Entry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(256);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Entry first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                buffer.drainTo(batch, 255);
+                for (Entry entry : batch) {
+                    accessLog.info(toJson(entry));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Access log write failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private String toJson(Entry entry) throws JsonProcessingException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", entry.timestampMillis());
+        line.put("requestId", entry.requestId());
+        line.put("method", entry.method());
+        line.put("path", entry.path());
+        if (entry.routeId() != null) line.put("route", entry.routeId());
+        line.put("status", entry.status());
+        line.put("durationMs", entry.durationMicros() / 1000.0);
+        if (entry.client() != null) line.put("client", entry.client());
+        if (!entry.headers().isEmpty()) line.put("headers", entry.headers());
+        if (entry.error() != null) line.put("error", entry.error());
+        return objectMapper.writeValueAsString(line);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mit.tasksphere.Gateway.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vegas-style concurrency limit driven by observed round-trip time. The
+ * no-load RTT is the lowest RTT seen over the last two probe intervals; the
+ * gap between it and the current RTT estimates how many requests are queued
+ * upstream. A small queue grows the limit, a large one shrinks it, and errors
+ * cut it multiplicatively. This way the limit follows what the upstream can
+ * actually absorb, e.g. it drops as soon as the database behind it slows down.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long probeIntervalNanos;
+
+    private volatile double limit;
+    private long noLoadRttNanos = Long.MAX_VALUE;
+    private long previousWindowMinRtt = Long.MAX_VALUE;
+    private long currentWindowMinRtt = Long.MAX_VALUE;
+    private long windowStartNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long probeIntervalNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeIntervalNanos = probeIntervalNanos;
+    }
+
+    /**
+     * Takes a slot if fewer than limit requests are in flight. Returns the
+     * in-flight count at admission (needed by onSample), or -1 if shed.
+     */
+    public int tryAcquire() {
+        int allowed = Math.max(1, (int) limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        onSample(rttNanos, inFlightAtStart, dropped);
+    }
+
+    // For requests that ended without a usable RTT, e.g. the client went away
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        long now = System.nanoTime();
+        if (now - windowStartNanos >= probeIntervalNanos) {
+            // Let the baseline rise again if the upstream got permanently slower
+            previousWindowMinRtt = currentWindowMinRtt;
+            currentWindowMinRtt = Long.MAX_VALUE;
+            windowStartNanos = now;
+        }
+
+        double current = limit;
+        double next;
+        if (dropped) {
+            next = current * DROP_BACKOFF;
+        } else {
+            currentWindowMinRtt = Math.min(currentWindowMinRtt, rttNanos);
+            noLoadRttNanos = Math.min(previousWindowMinRtt, currentWindowMinRtt);
+
+            double log = Math.max(1, Math.log10(current));
+            double queued = current * (1 - (double) noLoadRttNanos / rttNanos);
+            if (queued <= 3 * log) {
+                // Only grow when the limit is actually being used
+                next = inFlightAtStart * 2 >= current ? current + log : current;
+            } else if (queued >= 6 * log) {
+                next = current - log;
+            } else {
+                next = current;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mit.tasksphere.Gateway.util;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings. "No" is definite, "maybe" needs an
+ * exact check. Sized from the expected count and false-positive rate; the k
+ * bit positions come from two 64-bit hashes (Kirsch-Mitzenmacher), so a
+ * lookup is one pass over the key and k array reads, no allocation.
+ */
+public final class BloomFilter {
+
+    private static final BloomFilter EMPTY = new BloomFilter(new long[1], 1);
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+
+    private BloomFilter(long[] bits, int numHashes) {
+        this.bits = bits;
+        this.numBits = (long) bits.length * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    public static BloomFilter empty() {
+        return EMPTY;
+    }
+
+    public static BloomFilter of(Collection<String> keys, int expectedKeys, double falsePositiveRate) {
+        if (keys.isEmpty()) {
+            return EMPTY;
+        }
+        int n = Math.max(expectedKeys, keys.size());
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.max(1, (m + Long.SIZE - 1) / Long.SIZE);
+        int k = Math.max(1, (int) Math.round((double) words * Long.SIZE / n * ln2));
+        BloomFilter filter = new BloomFilter(new long[words], k);
+        for (String key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Only called while building, before the filter is published
+    private void add(String key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // FNV-1a over the UTF-16 chars with a seeded basis, finished with a 64-bit mix
+    private static long hash(String key, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Copies the first maxBytes of a body as it streams past, without consuming
+ * the buffers, so a filter can keep a copy while the body goes on to the
+ * client or upstream chunk by chunk. Nothing past maxBytes is held; whether
+ * the body ran over is reported by {@link #isTruncated()}.
+ */
+public final class BodyTee {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final int maxBytes;
+    private volatile boolean truncated;
+
+    public BodyTee(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void copy(DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        int n = Math.min(readable, maxBytes - bytes.size());
+        if (n < readable) {
+            truncated = true;
+        }
+        if (n <= 0) {
+            return;
+        }
+        byte[] chunk = new byte[n];
+        int position = buffer.readPosition();
+        buffer.read(chunk);
+        buffer.readPosition(position);
+        synchronized (bytes) {
+            bytes.write(chunk, 0, n);
+        }
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public byte[] bytes() {
+        synchronized (bytes) {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.mit.tasksphere.Gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Rolling binary log for TrafficCaptureFilter. Like AccessLogWriter, request
+ * threads only offer to a bounded buffer and a single background thread does
+ * the I/O. Each segment is a fixed-size memory-mapped file, so appending a
+ * record is a memory copy rather than a write syscall; when a record does not
+ * fit, the segment is trimmed to its used length and a new one is mapped.
+ * Only the newest max-segments files are kept.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.capture.enabled", havingValue = "true")
+public class CaptureLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaptureLogWriter.class);
+
+    private final BlockingQueue<CaptureRecord> buffer;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Counter dropped;
+    private final Counter written;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private Path segmentPath;
+    private int segmentSeq;
+
+    public CaptureLogWriter(@Value("${gateway.capture.directory:capture}") Path directory,
+                            @Value("${gateway.capture.segment-size:64MB}") DataSize segmentSize,
+                            @Value("${gateway.capture.max-segments:8}") int maxSegments,
+                            @Value("${gateway.capture.buffer-size:4096}") int bufferSize,
+                            MeterRegistry registry) {
+        this.directory = directory;
+        this.segmentBytes = (int) Math.min(Integer.MAX_VALUE, segmentSize.toBytes());
+        this.maxSegments = maxSegments;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.dropped = Counter.builder("gateway.capture.records").tag("result", "dropped").register(registry);
+        this.written = Counter.builder("gateway.capture.records").tag("result", "written").register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        worker = new Thread(this::drain, "capture-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    public void offer(CaptureRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<CaptureRecord> batch = new ArrayList<>(256);
+        try {
+            while (running || !buffer.isEmpty()) {
+                try {
+                    CaptureRecord first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                    buffer.drainTo(batch, 255);
+                    for (CaptureRecord record : batch) {
+                        append(record.encode());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    logger.warn("Capture write failed: {}", e.getMessage());
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void append(byte[] record) throws IOException {
+        int needed = 4 + record.length;
+        if (needed > segmentBytes - CaptureRecord.MAGIC.length) {
+            dropped.increment();
+            return;
+        }
+        if (segment == null || segment.remaining() < needed) {
+            closeSegment();
+            openSegment();
+        }
+        segment.putInt(record.length).put(record);
+        written.increment();
+    }
+
+    private void openSegment() throws IOException {
+        segmentPath = directory.resolve(String.format("capture-%d-%04d.bin", System.currentTimeMillis(), segmentSeq++));
+        channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segment.put(CaptureRecord.MAGIC);
+        pruneOldSegments();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.force();
+            // Unused tail is zeros, which readers treat as the end anyway; trimming just saves disk
+            channel.truncate(segment.position());
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Could not close capture segment {}: {}", segmentPath, e.getMessage());
+        }
+        segment = null;
+        channel = null;
+    }
+
+    private void pruneOldSegments() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(p -> p.getFileName().toString().startsWith("capture-"))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.mit.tasksphere.Gateway.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One captured request, and the binary layout shared by CaptureLogWriter and
+ * the replay tool. A segment file is MAGIC followed by records, each an int
+ * length and that many bytes; a zero length (or the end of the file) ends
+ * the segment. Strings are an int length plus UTF-8.
+ */
+public record CaptureRecord(long startEpochMicros, long durationMicros, int status,
+                            String method, String routeId, String pathAndQuery,
+                            Map<String, String> headers, byte[] body, boolean bodyTruncated) {
+
+    public static final byte[] MAGIC = "TSCAP001".getBytes(StandardCharsets.US_ASCII);
+
+    public byte[] encode() {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(utf8(method));
+        strings.add(utf8(routeId));
+        strings.add(utf8(pathAndQuery));
+        headers.forEach((name, value) -> {
+            strings.add(utf8(name));
+            strings.add(utf8(value));
+        });
+        int size = 8 + 8 + 4 + 4 + 4 + 1 + body.length;
+        for (byte[] s : strings) {
+            size += 4 + s.length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putLong(startEpochMicros).putLong(durationMicros).putInt(status);
+        for (int i = 0; i < 3; i++) {
+            putBytes(out, strings.get(i));
+        }
+        out.putInt(headers.size());
+        for (int i = 3; i < strings.size(); i++) {
+            putBytes(out, strings.get(i));
+        }
+        out.put((byte) (bodyTruncated ? 1 : 0));
+        putBytes(out, body);
+        return out.array();
+    }
+
+    public static CaptureRecord decode(ByteBuffer in) {
+        long start = in.getLong();
+        long duration = in.getLong();
+        int status = in.getInt();
+        String method = getString(in);
+        String routeId = getString(in);
+        String pathAndQuery = getString(in);
+        int headerCount = in.getInt();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(getString(in), getString(in));
+        }
+        boolean truncated = in.get() == 1;
+        byte[] body = new byte[in.getInt()];
+        in.get(body);
+        return new CaptureRecord(start, duration, status, method, routeId, pathAndQuery, headers, body, truncated);
+    }
+
+    // Reads every complete record of a segment; a record cut short by a crash is ignored
+    public static List<CaptureRecord> readSegment(Path file) throws IOException {
+        List<CaptureRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            if (in.remaining() < magic.length) {
+                return records;
+            }
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a capture segment: " + file);
+            }
+            while (in.remaining() >= 4) {
+                int length = in.getInt();
+                if (length <= 0 || length > in.remaining()) {
+                    break;
+                }
+                ByteBuffer slice = in.slice(in.position(), length);
+                in.position(in.position() + length);
+                records.add(decode(slice));
+            }
+        }
+        return records;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The address of the client behind any trusted reverse proxies (Render's
+ * edge, a load balancer). X-Forwarded-For is read right to left and the first
+ * hop that is not a trusted proxy is the client; hops further left were
+ * written by the client itself and are ignored, so the header cannot be
+ * forged to pick another rate-limit bucket. Requests arriving directly from
+ * an untrusted peer use the peer address and ignore the header entirely.
+ */
+@Component
+public class ClientAddressResolver {
+
+    private final List<IpAddressMatcher> trustedProxies = new ArrayList<>();
+
+    public ClientAddressResolver(@Value("${gateway.trusted-proxies:}") List<String> trustedProxies) {
+        trustedProxies.stream()
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .forEach(cidr -> this.trustedProxies.add(new IpAddressMatcher(cidr)));
+    }
+
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        String peer = remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+        if (!isTrusted(peer)) {
+            return peer;
+        }
+
+        List<String> hops = new ArrayList<>();
+        for (String header : request.getHeaders().getOrDefault("X-Forwarded-For", List.of())) {
+            for (String hop : header.split(",")) {
+                if (!hop.isBlank()) hops.add(hop.trim());
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            if (!isTrusted(hops.get(i))) {
+                return hops.get(i);
+            }
+        }
+        // Every hop is a trusted proxy: the left-most one is the closest we get to the client
+        return hops.isEmpty() ? peer : hops.get(0);
+    }
+
+    private boolean isTrusted(String address) {
+        try {
+            for (IpAddressMatcher matcher : trustedProxies) {
+                if (matcher.matches(address)) return true;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not an IP literal, so not one of our proxies
+        }
+        return false;
+    }
+}
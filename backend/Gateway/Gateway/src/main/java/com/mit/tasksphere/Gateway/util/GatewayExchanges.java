@@ -0,0 +1,59 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Small helpers shared by the filters that replay upstream responses
+public final class GatewayExchanges {
+
+    private static final Set<String> NON_REPLAYABLE_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            HttpHeaders.DATE, HttpHeaders.CONTENT_LENGTH);
+
+    // Route metadata marking a route whose bodies must stream through untouched (see StreamingBodyFilter)
+    public static final String STREAMING_METADATA = "streaming";
+
+    private GatewayExchanges() {
+    }
+
+    public static boolean isStreamingRoute(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null && Boolean.parseBoolean(String.valueOf(route.getMetadata().get(STREAMING_METADATA)));
+    }
+
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    // The client-facing URI, even after StripPrefix has rewritten the request
+    public static URI originalUri(ServerWebExchange exchange) {
+        LinkedHashSet<URI> originals = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        if (originals != null && !originals.isEmpty()) {
+            return originals.iterator().next();
+        }
+        return exchange.getRequest().getURI();
+    }
+
+    public static String pathAndQuery(URI uri) {
+        return uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+    }
+
+    // Copy of the response headers that are safe to send to a different client
+    public static HttpHeaders replayableHeaders(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (NON_REPLAYABLE_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                copy.put(name, new ArrayList<>(values));
+            }
+        });
+        return copy;
+    }
+}
@@ -0,0 +1,83 @@
+package com.mit.tasksphere.Gateway.util;
+
+import com.mit.tasksphere.Gateway.util.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Verifies bearer tokens for every gateway entry point (route filter and
+ * gateway-local controllers). The key and parser are built once; a replayed
+ * token costs one SHA-256 and a map lookup, only new tokens pay for the HMAC
+ * check and JSON parsing. Revocation is checked on every call, cached or not,
+ * so a logout takes effect as soon as TokenRevocationList has synced.
+ */
+@Component
+public class JwtVerifier {
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final Timer verifyTimer;
+
+    private JwtParser jwtParser;
+
+    public JwtVerifier(VerifiedTokenCache tokenCache, TokenRevocationList revocationList, MeterRegistry registry) {
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.verifyTimer = Timer.builder("gateway.jwt.verify")
+                .description("Time spent verifying JWTs that missed the cache")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (jwtSecret == null || jwtSecret.isBlank()) {
+            throw new IllegalStateException("JWT_SECRET is not configured");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    // Throws JwtException if the token is malformed, forged, expired or revoked
+    public VerifiedToken verify(String token) {
+        String digest = VerifiedTokenCache.digest(token);
+        VerifiedToken cached = tokenCache.get(digest);
+        if (cached != null) {
+            return checkNotRevoked(cached);
+        }
+
+        Claims claims = verifyTimer.record(() -> jwtParser.parseClaimsJws(token).getBody());
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+
+        String userId = claims.get("userId", String.class);
+        String email = claims.getSubject();
+        String roles = claims.get("roles", String.class);
+        String jti = claims.getId();
+        tokenCache.put(digest, userId, email, roles, jti, expiresAt);
+        return checkNotRevoked(new VerifiedToken(userId, email, roles, jti, expiresAt));
+    }
+
+    private VerifiedToken checkNotRevoked(VerifiedToken token) {
+        if (revocationList.isRevoked(token.jti())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return token;
+    }
+}
@@ -0,0 +1,198 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sliding-window latency and error counts per route and path template, for
+ * the live slow-path view. Each key keeps a ring of fixed-length time slots;
+ * each slot holds a log-linear histogram (four sub-buckets per power of two,
+ * at most ~25% relative error) so percentiles over any recent window are a
+ * merge of a few small arrays. Once maxPaths keys exist, new templates are
+ * folded into "{other}" so memory and metric tags stay bounded.
+ */
+@Component
+public class LatencyWindows {
+
+    public record PathStats(String route, String path, long count, double errorRate,
+                            double meanMillis, double p50Millis, double p99Millis, double maxMillis) {}
+
+    static final String OTHER = "{other}";
+
+    private static final int SUB_BUCKETS = 4;
+    // Up to 2^27 us (~134s); anything slower lands in the last bucket
+    private static final int BUCKETS = 27 * SUB_BUCKETS;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int slots;
+    private final long slotMillis;
+    private final int maxPaths;
+
+    public LatencyWindows(@Value("${gateway.latency.window-slots:30}") int slots,
+                          @Value("${gateway.latency.slot-seconds:10}") int slotSeconds,
+                          @Value("${gateway.latency.max-paths:500}") int maxPaths) {
+        this.slots = slots;
+        this.slotMillis = slotSeconds * 1000L;
+        this.maxPaths = maxPaths;
+    }
+
+    // Returns the template actually used, which is OTHER once the key budget is spent
+    public String record(String routeId, String template, long durationMicros, boolean error) {
+        String key = routeId + " " + template;
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxPaths) {
+                template = OTHER;
+                key = routeId + " " + OTHER;
+            }
+            window = windows.computeIfAbsent(key, k -> new Window(slots));
+        }
+        window.record(System.currentTimeMillis() / slotMillis, durationMicros, error);
+        return template;
+    }
+
+    public long getWindowSeconds() {
+        return slots * slotMillis / 1000;
+    }
+
+    public List<PathStats> slowest(int limit, long windowSeconds) {
+        long now = System.currentTimeMillis() / slotMillis;
+        int slotsBack = (int) Math.max(1, Math.min(slots, windowSeconds * 1000 / slotMillis));
+
+        List<PathStats> stats = new ArrayList<>();
+        windows.forEach((key, window) -> {
+            int split = key.indexOf(' ');
+            PathStats pathStats = window.aggregate(now, slotsBack, key.substring(0, split), key.substring(split + 1));
+            if (pathStats != null) {
+                stats.add(pathStats);
+            }
+        });
+        stats.sort(Comparator.comparingDouble(PathStats::p99Millis).reversed());
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    // Latency in ms at the quantile over the last windowSeconds, or -1 when fewer than minCount requests were seen
+    public double quantileMillis(String routeId, String template, double quantile, long windowSeconds, long minCount) {
+        Window window = windows.get(routeId + " " + template);
+        if (window == null) {
+            return -1;
+        }
+        long now = System.currentTimeMillis() / slotMillis;
+        int slotsBack = (int) Math.max(1, Math.min(slots, windowSeconds * 1000 / slotMillis));
+        return window.quantile(now, slotsBack, quantile, minCount);
+    }
+
+    static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - 1) * SUB_BUCKETS + sub);
+    }
+
+    // Smallest value that falls into the given bucket
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        int sub = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - 2);
+    }
+
+    private static final class Window {
+        private final long[] slotIds;
+        private final long[] counts;
+        private final long[] errors;
+        private final long[] sumMicros;
+        private final long[] maxMicros;
+        private final int[][] histograms;
+
+        Window(int slots) {
+            slotIds = new long[slots];
+            counts = new long[slots];
+            errors = new long[slots];
+            sumMicros = new long[slots];
+            maxMicros = new long[slots];
+            histograms = new int[slots][BUCKETS];
+        }
+
+        synchronized void record(long slotId, long micros, boolean error) {
+            int i = (int) (slotId % slotIds.length);
+            if (slotIds[i] != slotId) {
+                slotIds[i] = slotId;
+                counts[i] = 0;
+                errors[i] = 0;
+                sumMicros[i] = 0;
+                maxMicros[i] = 0;
+                Arrays.fill(histograms[i], 0);
+            }
+            counts[i]++;
+            if (error) errors[i]++;
+            sumMicros[i] += micros;
+            maxMicros[i] = Math.max(maxMicros[i], micros);
+            histograms[i][bucket(micros)]++;
+        }
+
+        synchronized double quantile(long nowSlotId, int slotsBack, double quantile, long minCount) {
+            long count = 0, max = 0;
+            long[] merged = new long[BUCKETS];
+            for (int i = 0; i < slotIds.length; i++) {
+                if (counts[i] == 0 || slotIds[i] <= nowSlotId - slotsBack) {
+                    continue;
+                }
+                count += counts[i];
+                max = Math.max(max, maxMicros[i]);
+                for (int b = 0; b < BUCKETS; b++) {
+                    merged[b] += histograms[i][b];
+                }
+            }
+            return count < minCount || count == 0 ? -1 : percentile(merged, count, quantile, max);
+        }
+
+        synchronized PathStats aggregate(long nowSlotId, int slotsBack, String route, String path) {
+            long count = 0, errorCount = 0, sum = 0, max = 0;
+            long[] merged = new long[BUCKETS];
+            for (int i = 0; i < slotIds.length; i++) {
+                if (counts[i] == 0 || slotIds[i] <= nowSlotId - slotsBack) {
+                    continue;
+                }
+                count += counts[i];
+                errorCount += errors[i];
+                sum += sumMicros[i];
+                max = Math.max(max, maxMicros[i]);
+                for (int b = 0; b < BUCKETS; b++) {
+                    merged[b] += histograms[i][b];
+                }
+            }
+            if (count == 0) {
+                return null;
+            }
+            return new PathStats(route, path, count, (double) errorCount / count,
+                    sum / 1000.0 / count, percentile(merged, count, 0.50, max), percentile(merged, count, 0.99, max),
+                    max / 1000.0);
+        }
+
+        // Upper edge of the bucket holding the quantile, capped at the observed max
+        private static double percentile(long[] histogram, long count, double quantile, long max) {
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += histogram[b];
+                if (seen >= rank) {
+                    long upper = b + 1 < BUCKETS ? lowerBound(b + 1) : max;
+                    return Math.min(upper, max) / 1000.0;
+                }
+            }
+            return max / 1000.0;
+        }
+    }
+}
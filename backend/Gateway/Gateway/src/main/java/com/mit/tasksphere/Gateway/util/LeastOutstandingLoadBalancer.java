@@ -0,0 +1,71 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over outstanding requests: pick two healthy instances
+ * at random and send the request to the one with fewer requests in flight
+ * relative to its slow-start weight. Ejected instances are skipped unless
+ * every instance is ejected, in which case all of them are tried again
+ * rather than failing the request outright.
+ */
+public class LeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final UpstreamInstanceStats stats;
+
+    public LeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                                        UpstreamInstanceStats stats) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.stats = stats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> healthy = instances.stream().filter(instance -> !stats.isEjected(instance)).toList();
+        List<ServiceInstance> candidates = healthy.isEmpty() ? instances : healthy;
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(load(a) <= load(b) ? a : b);
+    }
+
+    private double load(ServiceInstance instance) {
+        return (stats.outstanding(instance) + 1) / stats.weight(instance);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
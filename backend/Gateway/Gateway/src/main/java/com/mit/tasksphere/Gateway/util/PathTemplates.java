@@ -0,0 +1,39 @@
+package com.mit.tasksphere.Gateway.util;
+
+import java.util.regex.Pattern;
+
+// Collapses concrete request paths into templates, e.g. /api/tasks/42 -> /api/tasks/{id}
+public final class PathTemplates {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern UUID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern HEX_ID = Pattern.compile("[0-9a-fA-F]{16,}");
+    // Long tokens mixing letters and digits (opaque ids, hashes)
+    private static final Pattern OPAQUE = Pattern.compile("(?=.*\\d)[A-Za-z0-9_-]{20,}");
+
+    private PathTemplates() {
+    }
+
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(isIdentifier(segment) ? "{id}" : segment);
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static boolean isIdentifier(String segment) {
+        return NUMBER.matcher(segment).matches()
+                || UUID.matcher(segment).matches()
+                || HEX_ID.matcher(segment).matches()
+                || OPAQUE.matcher(segment).matches()
+                || segment.indexOf('@') > 0;
+    }
+}
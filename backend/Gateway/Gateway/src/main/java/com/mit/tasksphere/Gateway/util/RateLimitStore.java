@@ -0,0 +1,16 @@
+package com.mit.tasksphere.Gateway.util;
+
+/**
+ * Token-bucket state behind RateLimitFilter. The default implementation keeps
+ * buckets in this gateway's memory; define another RateLimitStore bean (e.g.
+ * backed by Redis) to share limits across gateway instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise milliseconds until a token is available
+     */
+    long tryConsume(String key, double tokensPerSecond, int burstCapacity);
+}
@@ -0,0 +1,116 @@
+package com.mit.tasksphere.Gateway.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Upstream GET responses held as ready-to-write byte arrays. The cache is
+ * bounded by total body size (W-TinyLFU admission) and each entry carries the
+ * TTL of the route that produced it. Keys carry their route's generation, so
+ * purging a route is one increment; its old entries are never looked up again
+ * and age out by TTL or weight.
+ */
+@Component
+public class ResponseCacheStore {
+
+    public record CachedResponse(String routeId, String path, int status, HttpHeaders headers,
+                                 byte[] body, long ttlNanos) {}
+
+    private final Cache<String, CachedResponse> cache;
+    private final int maxEntryBytes;
+    private final Map<String, AtomicLong> routeGenerations = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                              MeterRegistry registry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.response_cache");
+    }
+
+    // Cache key for a request on routeId, in the route's current generation
+    public String key(String routeId, String requestKey) {
+        return routeId + "@" + generation(routeId).get() + " " + requestKey;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        if (response.body().length <= maxEntryBytes) {
+            cache.put(key, response);
+        }
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    // O(1): responses keyed under the old generation, even ones still being stored, are unreachable
+    public void purgeRoute(String routeId) {
+        generation(routeId).incrementAndGet();
+    }
+
+    // Ant-style pattern on the client-facing path, e.g. /api/tasks/**
+    public long purgeMatching(String pattern) {
+        return purgeIf(entry -> pathMatcher.match(pattern, entry.path()));
+    }
+
+    public long purgeAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        return size;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private AtomicLong generation(String routeId) {
+        return routeGenerations.computeIfAbsent(routeId, id -> new AtomicLong());
+    }
+
+    private long purgeIf(Predicate<CachedResponse> predicate) {
+        List<String> keys = cache.asMap().entrySet().stream()
+                .filter(entry -> predicate.test(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        cache.invalidateAll(keys);
+        return keys.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mit.tasksphere.Gateway.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory token buckets split over a fixed number of lock stripes, so
+ * requests for different keys rarely contend on the same lock. Buckets that
+ * have refilled completely carry no state and are pruned when a stripe grows;
+ * if a stripe is still full after that (many keys each with a partly drained
+ * bucket, e.g. a spray of addresses), the least recently used buckets go.
+ * Forgetting a drained bucket only ever errs towards letting a request in.
+ */
+public class StripedTokenBucketStore implements RateLimitStore {
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+        double rate;
+        int capacity;
+    }
+
+    private static final class Stripe {
+        // Access-ordered, so iteration starts at the least recently used key
+        final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+
+    public StripedTokenBucketStore(int stripeCount, int maxBucketsPerStripe) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBucketsPerStripe = maxBucketsPerStripe;
+    }
+
+    @Override
+    public long tryConsume(String key, double tokensPerSecond, int burstCapacity) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxBucketsPerStripe) {
+                    prune(stripe, now);
+                }
+                bucket = new Bucket();
+                bucket.tokens = burstCapacity;
+                bucket.lastRefillNanos = now;
+                stripe.buckets.put(key, bucket);
+            }
+            bucket.rate = tokensPerSecond;
+            bucket.capacity = burstCapacity;
+
+            refill(bucket, now);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerSecond * 1000);
+        }
+    }
+
+    private static void refill(Bucket bucket, long now) {
+        double elapsedSeconds = (now - bucket.lastRefillNanos) / 1_000_000_000.0;
+        bucket.tokens = Math.min(bucket.capacity, bucket.tokens + elapsedSeconds * bucket.rate);
+        bucket.lastRefillNanos = now;
+    }
+
+    // A full bucket behaves exactly like a missing one, so it can be dropped; then make room by LRU
+    private void prune(Stripe stripe, long now) {
+        stripe.buckets.values().removeIf(bucket -> {
+            refill(bucket, now);
+            return bucket.tokens >= bucket.capacity;
+        });
+        Iterator<Bucket> it = stripe.buckets.values().iterator();
+        while (stripe.buckets.size() >= maxBucketsPerStripe && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mit.tasksphere.Gateway.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway replica of UserService's revoked-token table (jti -> exp), pulled
+ * from /auth/revocations every poll-interval. Lookups go through a Bloom
+ * filter first, so a token that was never revoked costs a couple of hashes
+ * and no map access; only a filter hit consults the exact set. The filter is
+ * rebuilt from the exact set whenever it changes, which is also how expired
+ * entries leave it. If UserService is unreachable the last known list stays
+ * in force.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = BloomFilter.empty();
+
+    private final WebClient userService;
+    private final Duration pollInterval;
+    private final Duration pollOverlap;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Counter revokedHits;
+    private final Counter falsePositives;
+
+    private volatile long syncedUpTo = 0;
+    private Disposable poller;
+
+    public TokenRevocationList(WebClient.Builder webClientBuilder,
+                               MeterRegistry registry,
+                               @Value("${gateway.revocation.user-service-uri:https://tasksphere-d.onrender.com}") String userServiceUri,
+                               @Value("${gateway.revocation.poll-interval:5s}") Duration pollInterval,
+                               @Value("${gateway.revocation.poll-overlap:30s}") Duration pollOverlap,
+                               @Value("${gateway.revocation.expected-entries:10000}") int expectedEntries,
+                               @Value("${gateway.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.userService = webClientBuilder.clone().baseUrl(userServiceUri).build();
+        this.pollInterval = pollInterval;
+        this.pollOverlap = pollOverlap;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedHits = Counter.builder("gateway.revocation.checks").tag("result", "revoked").register(registry);
+        this.falsePositives = Counter.builder("gateway.revocation.checks").tag("result", "false_positive").register(registry);
+        Gauge.builder("gateway.revocation.size", revoked, Map::size).register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        poller = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sync(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.dispose();
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            revokedHits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    private Mono<Void> sync() {
+        // Re-read some history each time so rows committed late on the UserService side are not missed
+        long since = Math.max(0, syncedUpTo - pollOverlap.toMillis());
+        return userService.get()
+                .uri(uri -> uri.path("/auth/revocations").queryParam("since", since).build())
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(pollInterval)
+                .doOnNext(this::apply)
+                .doOnError(e -> log.warn("Revocation sync failed, keeping {} known entries: {}", revoked.size(), e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void apply(JsonNode snapshot) {
+        long now = System.currentTimeMillis();
+        boolean changed = revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        for (JsonNode entry : snapshot.path("entries")) {
+            String jti = entry.path("jti").asText(null);
+            long expiresAt = entry.path("expiresAt").asLong();
+            if (jti != null && expiresAt > now && revoked.put(jti, expiresAt) == null) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            filter = BloomFilter.of(revoked.keySet(), expectedEntries, falsePositiveRate);
+        }
+        syncedUpTo = snapshot.path("serverTime").asLong(syncedUpTo);
+    }
+}
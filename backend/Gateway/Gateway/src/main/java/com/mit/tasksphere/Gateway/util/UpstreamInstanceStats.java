@@ -0,0 +1,93 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instance load and health as the gateway sees it: outstanding requests,
+ * consecutive failures and when the instance started taking traffic. After
+ * failureThreshold failures in a row an instance is ejected for
+ * ejectionDuration. A new or returning instance is weighted up linearly over
+ * slowStart, so a cold JVM is not handed a full share at once.
+ */
+@Component
+public class UpstreamInstanceStats {
+
+    private static final double MIN_WEIGHT = 0.1;
+
+    private static final class InstanceState {
+        final AtomicInteger outstanding = new AtomicInteger();
+        int consecutiveFailures;
+        volatile long ejectedUntilNanos;
+        volatile long warmingSinceNanos = System.nanoTime();
+    }
+
+    private final Map<String, InstanceState> states = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final long slowStartNanos;
+
+    public UpstreamInstanceStats(@Value("${gateway.load-balancer.failure-threshold:5}") int failureThreshold,
+                                 @Value("${gateway.load-balancer.ejection-duration:30s}") Duration ejectionDuration,
+                                 @Value("${gateway.load-balancer.slow-start:30s}") Duration slowStart) {
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionDuration.toNanos();
+        this.slowStartNanos = slowStart.toNanos();
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        return state(instance).outstanding.get();
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        InstanceState state = states.get(key(instance));
+        return state != null && state.ejectedUntilNanos - System.nanoTime() > 0;
+    }
+
+    // 0.1..1, rising linearly over the slow-start period
+    public double weight(ServiceInstance instance) {
+        if (slowStartNanos <= 0) {
+            return 1;
+        }
+        long warming = System.nanoTime() - state(instance).warmingSinceNanos;
+        return Math.max(MIN_WEIGHT, Math.min(1, (double) warming / slowStartNanos));
+    }
+
+    public void onStart(ServiceInstance instance) {
+        state(instance).outstanding.incrementAndGet();
+    }
+
+    // success == null: the request ended without telling us anything (client cancelled)
+    public void onComplete(ServiceInstance instance, Boolean success) {
+        InstanceState state = state(instance);
+        state.outstanding.decrementAndGet();
+        if (success == null) {
+            return;
+        }
+        synchronized (state) {
+            if (success) {
+                state.consecutiveFailures = 0;
+            } else if (++state.consecutiveFailures >= failureThreshold) {
+                long now = System.nanoTime();
+                state.consecutiveFailures = 0;
+                state.ejectedUntilNanos = now + ejectionNanos;
+                // Comes back through slow start once the ejection ends
+                state.warmingSinceNanos = now + ejectionNanos;
+            }
+        }
+    }
+
+    private InstanceState state(ServiceInstance instance) {
+        return states.computeIfAbsent(key(instance), key -> new InstanceState());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getUri();
+    }
+}
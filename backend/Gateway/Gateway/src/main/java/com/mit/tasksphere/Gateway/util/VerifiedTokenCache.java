@@ -0,0 +1,92 @@
+package com.mit.tasksphere.Gateway.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by
+ * the SHA-256 of the token so raw bearer tokens are never held in memory.
+ * An entry never outlives the token's own exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(String userId, String email, String roles, String jti, long expiresAtMillis) {}
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final long maxTtlMillis;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries,
+                              @Value("${jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds,
+                              MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+        this.hits = Counter.builder("gateway.jwt.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("gateway.jwt.cache").tag("result", "miss").register(registry);
+        Gauge.builder("gateway.jwt.cache.size", entries, Map::size).register(registry);
+    }
+
+    public VerifiedToken get(String digest) {
+        VerifiedToken token = entries.get(digest);
+        if (token == null) {
+            misses.increment();
+            return null;
+        }
+        if (token.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(digest, token);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return token;
+    }
+
+    public void put(String digest, String userId, String email, String roles, String jti, long tokenExpMillis) {
+        long expiresAt = Math.min(tokenExpMillis, System.currentTimeMillis() + maxTtlMillis);
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(digest, new VerifiedToken(userId, email, roles, jti, expiresAt));
+    }
+
+    public void invalidate(String digest) {
+        entries.remove(digest);
+    }
+
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Drop expired entries first; if the cache is still full, drop an arbitrary tenth of it
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(token -> token.expiresAtMillis() <= now);
+        int toDrop = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
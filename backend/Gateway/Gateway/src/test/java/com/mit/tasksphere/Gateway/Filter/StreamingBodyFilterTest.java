@@ -0,0 +1,173 @@
+package com.mit.tasksphere.Gateway.Filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The task-transfer route against a stub taskservice. The test JVM runs with
+ * a 256 MB heap and 256 MB of direct memory (surefire argLine), so the 1 GB
+ * export only gets through if no hop aggregates it. Requests are limited to
+ * 1 MB here through TRANSFER_MAX_REQUEST_SIZE.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamingBodyFilterTest {
+
+	private static final String SECRET = "streaming-body-filter-test-secret-0123456789";
+	private static final int CHUNK_SIZE = 64 * 1024;
+	private static final byte[] CHUNK = new byte[CHUNK_SIZE];
+	private static final long EXPORT_BYTES = 1024L * 1024 * 1024;
+	private static final int MAX_REQUEST_BYTES = 1024 * 1024;
+
+	private static final AtomicInteger importCalls = new AtomicInteger();
+
+	// Stands in for taskservice: export generates its body lazily, import answers with the byte count it read
+	private static final DisposableServer upstream = HttpServer.create()
+			.host("localhost")
+			.port(0)
+			.route(routes -> routes
+					.get("/tasks/export/all", (request, response) -> response
+							.header(HttpHeaderNames.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+							.send(Flux.range(0, (int) (EXPORT_BYTES / CHUNK_SIZE)).map(i -> Unpooled.wrappedBuffer(CHUNK))))
+					.post("/tasks/import/all", (request, response) -> {
+						importCalls.incrementAndGet();
+						return response.sendString(request.receive()
+								.map(ByteBuf::readableBytes)
+								.reduce(0L, (total, bytes) -> total + bytes)
+								.map(String::valueOf));
+					}))
+			.bindNow();
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		String upstreamUri = "http://localhost:" + upstream.port();
+		registry.add("TASK_SERVICE_URI", () -> upstreamUri);
+		registry.add("USER_SERVICE_URI", () -> upstreamUri);
+		registry.add("TRANSFER_MAX_REQUEST_SIZE", () -> MAX_REQUEST_BYTES + "B");
+		registry.add("JWT_SECRET", () -> SECRET);
+		registry.add("JWT_ISSUER", () -> "tasksphere-test");
+	}
+
+	@AfterAll
+	static void stopUpstream() {
+		upstream.disposeNow();
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void exportOfOneGigabyteStreamsInConstantHeap() {
+		assumeTrue(Runtime.getRuntime().maxMemory() < EXPORT_BYTES / 2, "needs the bounded heap from the surefire argLine");
+
+		// Plain WebClient: WebTestClient keeps a copy of every body it reads, which would hold the whole export
+		long received = WebClient.create("http://localhost:" + port)
+				.get()
+				.uri("/api/tasks/export/all")
+				.header(HttpHeaders.AUTHORIZATION, bearer())
+				.exchangeToMono(response -> {
+					assertEquals(HttpStatus.OK.value(), response.statusCode().value());
+					return response.bodyToFlux(DataBuffer.class)
+							.map(buffer -> {
+								long bytes = buffer.readableByteCount();
+								DataBufferUtils.release(buffer);
+								return bytes;
+							})
+							.reduce(0L, Long::sum);
+				})
+				.block(Duration.ofMinutes(2));
+
+		assertEquals(EXPORT_BYTES, received);
+	}
+
+	@Test
+	void importUnderTheLimitReachesTheUpstream() {
+		int bytes = MAX_REQUEST_BYTES / 2;
+
+		webTestClient.post()
+				.uri("/api/tasks/import/all")
+				.header(HttpHeaders.AUTHORIZATION, bearer())
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(chunks(bytes), DataBuffer.class)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(String.class).isEqualTo(String.valueOf(bytes));
+	}
+
+	@Test
+	void contentLengthOverTheLimitIsRejectedBeforeTheUpstream() {
+		int callsBefore = importCalls.get();
+		byte[] body = new byte[2 * MAX_REQUEST_BYTES];
+
+		webTestClient.post()
+				.uri("/api/tasks/import/all")
+				.header(HttpHeaders.AUTHORIZATION, bearer())
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.contentLength(body.length)
+				.bodyValue(body)
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+
+		assertEquals(callsBefore, importCalls.get());
+	}
+
+	@Test
+	void chunkedBodyOverTheLimitIsRejected() {
+		webTestClient.post()
+				.uri("/api/tasks/import/all")
+				.header(HttpHeaders.AUTHORIZATION, bearer())
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.body(chunks(2 * MAX_REQUEST_BYTES), DataBuffer.class)
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+	}
+
+	// No Content-Length, so the request goes out chunked
+	private static Flux<DataBuffer> chunks(int bytes) {
+		return Flux.range(0, bytes / CHUNK_SIZE).map(i -> DefaultDataBufferFactory.sharedInstance.wrap(CHUNK));
+	}
+
+	private static String bearer() {
+		return "Bearer " + Jwts.builder()
+				.setSubject("transfer@tasksphere.test")
+				.claim("userId", "42")
+				.claim("roles", "USER")
+				.setId(UUID.randomUUID().toString())
+				.setExpiration(new Date(System.currentTimeMillis() + 600_000))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+				.compact();
+	}
+}
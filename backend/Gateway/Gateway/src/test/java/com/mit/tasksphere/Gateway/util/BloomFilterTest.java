@@ -0,0 +1,73 @@
+package com.mit.tasksphere.Gateway.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	// Revoked jtis are UUIDs; name-based ones keep the run deterministic
+	private static List<String> jtis(String prefix, int count) {
+		List<String> keys = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			keys.add(UUID.nameUUIDFromBytes((prefix + i).getBytes(StandardCharsets.UTF_8)).toString());
+		}
+		return keys;
+	}
+
+	@Test
+	void everyAddedKeyIsReported() {
+		List<String> keys = jtis("revoked-", 50_000);
+		BloomFilter filter = BloomFilter.of(keys, keys.size(), 0.01);
+
+		for (String key : keys) {
+			assertTrue(filter.mightContain(key), key);
+		}
+	}
+
+	@Test
+	void moreKeysThanExpectedAreStillReported() {
+		List<String> keys = jtis("revoked-", 5_000);
+		BloomFilter filter = BloomFilter.of(keys, 100, 0.01);
+
+		for (String key : keys) {
+			assertTrue(filter.mightContain(key), key);
+		}
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		assertFalse(BloomFilter.empty().mightContain("anything"));
+		assertFalse(BloomFilter.of(List.of(), 1000, 0.01).mightContain("anything"));
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"1000, 0.01",
+			"10000, 0.01",
+			"100000, 0.01",
+			"10000, 0.001"
+	})
+	void falsePositiveRateIsNearTheConfiguredOne(int count, double falsePositiveRate) {
+		BloomFilter filter = BloomFilter.of(jtis("revoked-", count), count, falsePositiveRate);
+
+		int probes = 200_000;
+		int hits = 0;
+		for (String key : jtis("live-", probes)) {
+			if (filter.mightContain(key)) hits++;
+		}
+
+		// Measured around the target; the band allows for sampling noise, not for a mis-sized filter
+		double observed = (double) hits / probes;
+		assertTrue(observed <= falsePositiveRate * 1.5, "false-positive rate " + observed);
+		assertTrue(observed >= falsePositiveRate * 0.5, "false-positive rate " + observed);
+	}
+}
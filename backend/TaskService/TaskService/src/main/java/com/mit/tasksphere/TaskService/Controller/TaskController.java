@@ -3,10 +3,14 @@ package com.mit.tasksphere.TaskService.Controller;
 
 import com.mit.tasksphere.TaskService.Entities.Task;
 import com.mit.tasksphere.TaskService.Services.TaskService;
+import com.mit.tasksphere.TaskService.PayLoads.AssigneeLoad;
+import com.mit.tasksphere.TaskService.PayLoads.CalendarDay;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -19,7 +23,9 @@ public class TaskController {
     private TaskService taskService;
 
     @PostMapping
-    public Task createTask(@RequestBody Task task, HttpServletRequest request) {
+    public Task createTask(@RequestBody Task task,
+                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                           HttpServletRequest request) {
         // SECURITY: Extract user ID from Gateway-validated headers only
         // NEVER parse JWT here - Gateway is the single source of truth
         String userId = request.getHeader("X-User-Id");
@@ -31,15 +37,27 @@ public class TaskController {
         if (task.getAssignedTo() == null && userId != null) {
             task.setAssignedTo(Long.parseLong(userId));
         }
+
+        // Retries from flaky clients replay the first result instead of inserting again.
+        // Keys are scoped per user so two clients can't collide on the same value.
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return taskService.createTask(task, (userId != null ? userId : "anonymous") + ":" + idempotencyKey);
+        }
         
         return taskService.createTask(task);
     }
 
     @GetMapping
     public List<Task> getTasks(@RequestParam(required = false) Long assignedTo,
+                               @RequestParam(required = false) Long teamId,
                                @RequestParam(required = false) String status,
                                @RequestParam(required = false) String priority,
                                HttpServletRequest request) {
+
+        // Team dashboards: one team_id-led query instead of one query per member
+        if (teamId != null && assignedTo == null) {
+            return taskService.getTeamTasks(teamId, status, priority);
+        }
         
         // If no assignedTo specified, filter by current user
         if (assignedTo == null) {
@@ -78,12 +96,43 @@ public class TaskController {
     }
 
     @GetMapping("/analytics")
-    public Map<String, Object> getAnalytics() {
+    public Map<String, Object> getAnalytics(@RequestParam(required = false) Long teamId) {
+        if (teamId != null) {
+            return taskService.getTeamAnalytics(teamId);
+        }
         return taskService.getAnalytics();
     }
 
+    @GetMapping("/board")
+    public Map<String, List<Task>> getTeamBoard(@RequestParam Long teamId) {
+        return taskService.getTeamBoard(teamId);
+    }
+
     @GetMapping("/reminders")
     public List<Task> getReminders() {
         return taskService.getReminders();
     }
+
+    @GetMapping("/calendar")
+    public List<CalendarDay> getCalendar(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                         @RequestParam(required = false) Long assignedTo,
+                                         HttpServletRequest request) {
+
+        // Same default as the task list: without assignedTo, show the current user's deadlines
+        if (assignedTo == null) {
+            String userId = request.getHeader("X-User-Id");
+            if (userId != null) {
+                assignedTo = Long.parseLong(userId);
+            }
+        }
+
+        return taskService.getCalendar(from, to, assignedTo);
+    }
+
+    @GetMapping("/recommend-assignee")
+    public List<AssigneeLoad> recommendAssignee(@RequestParam List<Long> candidates,
+                                                @RequestParam(defaultValue = "5") int limit) {
+        return taskService.recommendAssignee(candidates, limit);
+    }
 }
@@ -0,0 +1,91 @@
+package com.mit.tasksphere.TaskService.Entities;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+// Idempotency-Key -> fingerprint of the original request and the response it produced.
+// responseBody stays null while the first request is still being processed.
+@Entity
+@Table(name="idempotency_keys", indexes = {
+		@Index(name="idx_idempotency_keys_expires_at", columnList="expires_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+
+	@Id
+	@Column(length=255)
+	private String idempotencyKey;
+
+	@Column(nullable=false, length=64)
+	private String requestHash;
+
+	@Lob
+	@Column(nullable=true)
+	private String responseBody;
+
+	@Column(nullable=false)
+	private LocalDateTime expiresAt;
+
+	// Always INSERT new records so two instances racing on one key hit the primary key
+	@Transient
+	private boolean isNew = true;
+
+	public IdempotencyRecord() {
+	}
+
+	public IdempotencyRecord(String idempotencyKey, String requestHash, LocalDateTime expiresAt) {
+		this.idempotencyKey = idempotencyKey;
+		this.requestHash = requestHash;
+		this.expiresAt = expiresAt;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+
+	@Override
+	public String getId() {
+		return idempotencyKey;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public String getResponseBody() {
+		return responseBody;
+	}
+
+	public void setResponseBody(String responseBody) {
+		this.responseBody = responseBody;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+
+	public boolean isExpired() {
+		return expiresAt.isBefore(LocalDateTime.now());
+	}
+}
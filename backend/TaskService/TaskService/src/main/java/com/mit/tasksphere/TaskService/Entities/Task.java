@@ -7,12 +7,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name="tasks")
+@Table(name="tasks", indexes = {
+		@Index(name="idx_tasks_deadline", columnList="deadline"),
+		@Index(name="idx_tasks_assigned_to_deadline", columnList="assigned_to, deadline"),
+		@Index(name="idx_tasks_team_status", columnList="team_id, status"),
+		@Index(name="idx_tasks_team_assigned_to", columnList="team_id, assigned_to"),
+		@Index(name="idx_tasks_team_deadline", columnList="team_id, deadline")
+})
 public class Task {
 
+	// team_id of tasks that belong to no team
+	public static final long NO_TEAM = 0L;
+
 	@Id
 	@GeneratedValue(strategy=GenerationType.IDENTITY)
 	private long id;
@@ -25,6 +37,10 @@ public class Task {
 	
 	@Column(nullable=false)
 	private Long assignedTo;
+
+	// NO_TEAM rather than NULL, so inserts also work once team_id is NOT NULL (partition-tasks-by-team.sql)
+	@Column(nullable=false)
+	private Long teamId;
 	
 	@Column(nullable=false)
 	private LocalDate deadline;
@@ -73,6 +89,14 @@ public class Task {
 		this.assignedTo = assignedTo;
 	}
 
+	public Long getTeamId() {
+		return teamId;
+	}
+
+	public void setTeamId(Long teamId) {
+		this.teamId = teamId;
+	}
+
 	public LocalDate getDeadline() {
 		return deadline;
 	}
@@ -113,6 +137,14 @@ public class Task {
 		this.comments = comments;
 	}
 
+	@PrePersist
+	@PreUpdate
+	void defaultTeam() {
+		if (teamId == null) {
+			teamId = NO_TEAM;
+		}
+	}
+
 	
 }
 //id, title, description, assigned_to, deadline, status, priority, progress
\ No newline at end of file
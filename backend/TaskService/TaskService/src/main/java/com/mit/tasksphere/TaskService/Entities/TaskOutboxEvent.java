@@ -0,0 +1,80 @@
+package com.mit.tasksphere.TaskService.Entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+// Row written in the same transaction as a task mutation; relayed to
+// TaskEventConsumers by the relay instance holding its lease and deleted
+// once every consumer has seen it
+@Entity
+@Table(name="task_outbox")
+public class TaskOutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable=false)
+	private Long taskId;
+
+	@Column(nullable=false, length=32)
+	private String eventType;
+
+	@Lob
+	@Column(nullable=false)
+	private String payload;
+
+	@Column(nullable=false)
+	private LocalDateTime createdAt;
+
+	// Relay instance holding the row and until when; another instance may take it over after that
+	@Column(length=64)
+	private String claimedBy;
+
+	private LocalDateTime claimedUntil;
+
+	public TaskOutboxEvent() {
+	}
+
+	public TaskOutboxEvent(Long taskId, String eventType, String payload) {
+		this.taskId = taskId;
+		this.eventType = eventType;
+		this.payload = payload;
+		this.createdAt = LocalDateTime.now();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getTaskId() {
+		return taskId;
+	}
+
+	public String getEventType() {
+		return eventType;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public String getClaimedBy() {
+		return claimedBy;
+	}
+
+	public LocalDateTime getClaimedUntil() {
+		return claimedUntil;
+	}
+}
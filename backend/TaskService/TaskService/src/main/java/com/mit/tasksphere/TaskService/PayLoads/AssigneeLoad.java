@@ -0,0 +1,26 @@
+package com.mit.tasksphere.TaskService.PayLoads;
+
+// Open workload of one candidate assignee; lower score means more capacity
+public class AssigneeLoad {
+
+    private Long assigneeId;
+    private int openTasks;
+    private double score;
+
+    public AssigneeLoad() {}
+
+    public AssigneeLoad(Long assigneeId, int openTasks, double score) {
+        this.assigneeId = assigneeId;
+        this.openTasks = openTasks;
+        this.score = score;
+    }
+
+    public Long getAssigneeId() { return assigneeId; }
+    public void setAssigneeId(Long assigneeId) { this.assigneeId = assigneeId; }
+
+    public int getOpenTasks() { return openTasks; }
+    public void setOpenTasks(int openTasks) { this.openTasks = openTasks; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,39 @@
+package com.mit.tasksphere.TaskService.PayLoads;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// One cell of the deadline heatmap: how many tasks are due on a day,
+// broken down by status and priority
+public class CalendarDay {
+
+    private LocalDate date;
+    private long total;
+    private Map<String, Long> byStatus = new HashMap<>();
+    private Map<String, Long> byPriority = new HashMap<>();
+
+    public CalendarDay() {}
+
+    public CalendarDay(LocalDate date) {
+        this.date = date;
+    }
+
+    public void add(String status, String priority, long count) {
+        total += count;
+        byStatus.merge(status, count, Long::sum);
+        byPriority.merge(priority, count, Long::sum);
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<String, Long> byStatus) { this.byStatus = byStatus; }
+
+    public Map<String, Long> getByPriority() { return byPriority; }
+    public void setByPriority(Map<String, Long> byPriority) { this.byPriority = byPriority; }
+}
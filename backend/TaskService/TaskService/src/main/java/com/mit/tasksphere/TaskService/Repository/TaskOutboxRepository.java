@@ -0,0 +1,36 @@
+package com.mit.tasksphere.TaskService.Repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Rows are removed by id, and only by the relay holding them, once delivered; never by id range
+@Repository
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEvent, Long> {
+    List<TaskOutboxEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable page);
+
+    List<TaskOutboxEvent> findByIdInAndClaimedByOrderByIdAsc(Collection<Long> ids, String claimedBy);
+
+    // Takes (or renews) rows that are free, already ours, or whose lease has run out. The row lock the
+    // UPDATE takes makes concurrent relays re-check the condition, so each row ends up with one owner.
+    @Modifying
+    @Transactional
+    @Query("UPDATE TaskOutboxEvent e SET e.claimedBy = :owner, e.claimedUntil = :until "
+            + "WHERE e.id IN :ids AND (e.claimedBy IS NULL OR e.claimedBy = :owner OR e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskOutboxEvent e WHERE e.id IN :ids AND e.claimedBy = :owner")
+    int deleteClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+}
@@ -1,8 +1,12 @@
 package com.mit.tasksphere.TaskService.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.mit.tasksphere.TaskService.Entities.Task;
+
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -10,4 +14,27 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedTo(Long assignedTo);
     List<Task> findByStatus(String status);
     List<Task> findByPriority(String priority);
+    List<Task> findByStatusNot(String status);
+
+    List<Task> findByTeamId(Long teamId);
+    List<Task> findByTeamIdAndStatus(Long teamId, String status);
+    List<Task> findByTeamIdAndPriority(Long teamId, String priority);
+    List<Task> findByTeamIdOrderByDeadlineAsc(Long teamId);
+
+    // Team analytics rows: [status, count]
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.teamId = :teamId GROUP BY t.status")
+    List<Object[]> countByStatusForTeam(@Param("teamId") Long teamId);
+
+    // Calendar heatmap rows: [deadline, status, priority, count]
+    @Query("SELECT t.deadline, t.status, t.priority, COUNT(t) FROM Task t " +
+           "WHERE t.deadline BETWEEN :from AND :to " +
+           "GROUP BY t.deadline, t.status, t.priority")
+    List<Object[]> countByDeadlineBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT t.deadline, t.status, t.priority, COUNT(t) FROM Task t " +
+           "WHERE t.assignedTo = :assignedTo AND t.deadline BETWEEN :from AND :to " +
+           "GROUP BY t.deadline, t.status, t.priority")
+    List<Object[]> countByAssignedToAndDeadlineBetween(@Param("assignedTo") Long assignedTo,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
 }
@@ -0,0 +1,19 @@
+package com.mit.tasksphere.TaskService.Services;
+
+import com.mit.tasksphere.TaskService.Entities.IdempotencyRecord;
+
+/**
+ * Remembers which Idempotency-Key values have already been used and what they returned.
+ * Selected with task.idempotency.store=memory (single instance) or db (shared).
+ */
+public interface IdempotencyStore {
+
+    // Claims the key for this request; returns null if it was free, otherwise the existing record
+    IdempotencyRecord reserve(String key, String requestHash);
+
+    // Called inside the creating transaction; the stored response must not outlive a rollback
+    void complete(String key, String responseBody);
+
+    // Frees a reserved key after a failed request so the client can retry
+    void release(String key);
+}
@@ -0,0 +1,186 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.PayLoads.AssigneeLoad;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of open tasks per assignee, used to rank candidates for a
+ * new task without querying each one. TaskServiceImpl pushes every mutation
+ * here after commit; a periodic rebuild from the database picks up writes
+ * made by other instances.
+ */
+@Component
+public class AssigneeLoadIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssigneeLoadIndex.class);
+
+    private static final String COMPLETED = "Completed";
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private record OpenTask(Long assignee, String priority, LocalDate deadline) {}
+
+    // One mutation of the index; open == null removes the task
+    private record Change(Long taskId, OpenTask open) {}
+
+    // assignee -> (taskId -> open task); swapped wholesale on rebuild so readers never see it half-filled
+    private volatile Map<Long, Map<Long, OpenTask>> byAssignee = new ConcurrentHashMap<>();
+    // taskId -> open task, to find the previous assignee on reassignment
+    private volatile Map<Long, OpenTask> byTask = new ConcurrentHashMap<>();
+
+    // Changes applied while a rebuild is reading the database, replayed onto its result; null when none runs
+    private List<Change> changesDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${task.load-index.rebuild-interval-ms:300000}",
+               initialDelayString = "${task.load-index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            List<Task> open;
+            try {
+                // Outside the index lock, so commits and recommendations are not held up by a full-table read
+                open = taskRepo.findByStatusNot(COMPLETED);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    changesDuringRebuild = null;
+                }
+                throw e;
+            }
+
+            Map<Long, Map<Long, OpenTask>> assignees = new ConcurrentHashMap<>();
+            Map<Long, OpenTask> tasks = new ConcurrentHashMap<>();
+            for (Task task : open) {
+                if (task.getAssignedTo() == null) continue;
+                apply(assignees, tasks, new Change(task.getId(), new OpenTask(task.getAssignedTo(), task.getPriority(), task.getDeadline())));
+            }
+            synchronized (this) {
+                // The read may predate these commits; applying them again is harmless
+                changesDuringRebuild.forEach(change -> apply(assignees, tasks, change));
+                changesDuringRebuild = null;
+                byAssignee = assignees;
+                byTask = tasks;
+            }
+            logger.debug("Assignee load index rebuilt from {} open tasks", open.size());
+        }
+    }
+
+    public void onSaved(Task task) {
+        afterCommit(() -> update(task));
+    }
+
+    public void onDeleted(Long taskId) {
+        afterCommit(() -> remove(taskId));
+    }
+
+    // Min-heap on load score: the least busy candidates come out first
+    public List<AssigneeLoad> recommend(List<Long> candidates, int limit) {
+        LocalDate today = LocalDate.now();
+        PriorityQueue<AssigneeLoad> heap = new PriorityQueue<>(
+                Comparator.comparingDouble(AssigneeLoad::getScore).thenComparingInt(AssigneeLoad::getOpenTasks));
+
+        for (Long candidate : new LinkedHashSet<>(candidates)) {
+            Map<Long, OpenTask> tasks = byAssignee.getOrDefault(candidate, Map.of());
+            double score = 0;
+            for (OpenTask task : tasks.values()) {
+                score += priorityWeight(task.priority()) * urgency(task.deadline(), today);
+            }
+            heap.add(new AssigneeLoad(candidate, tasks.size(), score));
+        }
+
+        List<AssigneeLoad> ranked = new ArrayList<>();
+        while (!heap.isEmpty() && ranked.size() < limit) {
+            ranked.add(heap.poll());
+        }
+        return ranked;
+    }
+
+    private synchronized void update(Task task) {
+        OpenTask open = COMPLETED.equals(task.getStatus()) || task.getAssignedTo() == null
+                ? null
+                : new OpenTask(task.getAssignedTo(), task.getPriority(), task.getDeadline());
+        record(new Change(task.getId(), open));
+    }
+
+    private synchronized void remove(Long taskId) {
+        record(new Change(taskId, null));
+    }
+
+    // Caller holds the index lock
+    private void record(Change change) {
+        apply(byAssignee, byTask, change);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+
+    private static void apply(Map<Long, Map<Long, OpenTask>> assignees, Map<Long, OpenTask> tasks, Change change) {
+        OpenTask previous = tasks.remove(change.taskId());
+        if (previous != null) {
+            Map<Long, OpenTask> assigned = assignees.get(previous.assignee());
+            if (assigned != null) {
+                assigned.remove(change.taskId());
+                if (assigned.isEmpty()) assignees.remove(previous.assignee());
+            }
+        }
+        if (change.open() != null) {
+            tasks.put(change.taskId(), change.open());
+            assignees.computeIfAbsent(change.open().assignee(), a -> new ConcurrentHashMap<>()).put(change.taskId(), change.open());
+        }
+    }
+
+    private static double priorityWeight(String priority) {
+        if (priority == null) return 1.0;
+        return switch (priority.toLowerCase()) {
+            case "critical" -> 4.0;
+            case "high" -> 3.0;
+            case "medium" -> 2.0;
+            default -> 1.0;
+        };
+    }
+
+    // 3x when due today or overdue, 2x tomorrow, tapering towards 1x for distant deadlines
+    private static double urgency(LocalDate deadline, LocalDate today) {
+        if (deadline == null) return 1.0;
+        long daysLeft = Math.max(0, ChronoUnit.DAYS.between(today, deadline));
+        return 1.0 + 2.0 / (1 + daysLeft);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
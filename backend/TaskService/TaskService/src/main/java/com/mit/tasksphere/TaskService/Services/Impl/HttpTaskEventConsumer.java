@@ -0,0 +1,36 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+import com.mit.tasksphere.TaskService.Services.TaskEventConsumer;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+// POSTs each relayed batch as a JSON array to an external endpoint;
+// any non-2xx response makes the relay retry the batch
+public class HttpTaskEventConsumer implements TaskEventConsumer {
+
+    private final String endpoint;
+    private final RestClient restClient;
+
+    public HttpTaskEventConsumer(String endpoint, RestClient restClient) {
+        this.endpoint = endpoint;
+        this.restClient = restClient;
+    }
+
+    @Override
+    public String getName() {
+        return "http:" + endpoint;
+    }
+
+    @Override
+    public void accept(List<TaskOutboxEvent> events) {
+        restClient.post()
+                .uri(endpoint)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.IdempotencyRecord;
+import com.mit.tasksphere.TaskService.Services.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded, insertion-ordered map: expired keys are trimmed from the head and
+// the oldest key is dropped once max-entries is reached
+@Component
+@ConditionalOnProperty(name = "task.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    @Value("${task.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${task.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    private final LinkedHashMap<String, IdempotencyRecord> records = new LinkedHashMap<>();
+
+    @Override
+    public synchronized IdempotencyRecord reserve(String key, String requestHash) {
+        evictExpired();
+        IdempotencyRecord existing = records.get(key);
+        if (existing != null) return existing;
+
+        if (records.size() >= maxEntries) {
+            Iterator<String> oldest = records.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+        records.put(key, new IdempotencyRecord(key, requestHash, LocalDateTime.now().plusHours(ttlHours)));
+        return null;
+    }
+
+    // Unlike a database row, the map does not roll back, so the response is only stored once the task has committed
+    @Override
+    public void complete(String key, String responseBody) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(key, responseBody);
+                }
+            });
+        } else {
+            store(key, responseBody);
+        }
+    }
+
+    private synchronized void store(String key, String responseBody) {
+        IdempotencyRecord record = records.get(key);
+        if (record != null) {
+            record.setResponseBody(responseBody);
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        records.remove(key);
+    }
+
+    private void evictExpired() {
+        Iterator<Map.Entry<String, IdempotencyRecord>> it = records.entrySet().iterator();
+        while (it.hasNext() && it.next().getValue().isExpired()) {
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.IdempotencyRecord;
+import com.mit.tasksphere.TaskService.Repository.IdempotencyRecordRepository;
+import com.mit.tasksphere.TaskService.Services.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Shared store for multi-instance deployments; the primary key on
+// idempotency_keys decides which instance wins a concurrent retry
+@Component
+@ConditionalOnProperty(name = "task.idempotency.store", havingValue = "db")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepo;
+
+    @Value("${task.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Override
+    public IdempotencyRecord reserve(String key, String requestHash) {
+        IdempotencyRecord existing = recordRepo.findById(key).orElse(null);
+        if (existing != null) {
+            if (!existing.isExpired()) return existing;
+            recordRepo.delete(existing);
+        }
+
+        try {
+            recordRepo.saveAndFlush(new IdempotencyRecord(key, requestHash, LocalDateTime.now().plusHours(ttlHours)));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance reserved the key between our read and insert
+            return recordRepo.findById(key).orElseThrow(() -> e);
+        }
+    }
+
+    @Override
+    public void complete(String key, String responseBody) {
+        recordRepo.findById(key).ifPresent(record -> {
+            record.setResponseBody(responseBody);
+            recordRepo.save(record);
+        });
+    }
+
+    @Override
+    public void release(String key) {
+        recordRepo.deleteById(key);
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        recordRepo.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,141 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.PayLoads.CalendarDay;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per (assignee, month) cache of deadline counts for the calendar heatmap.
+ * Months are aggregated in the database and evicted after commit whenever a
+ * task due in that month is created, changed or removed. A month loaded while
+ * an eviction happened is served but not cached, since it may have read the
+ * database before the commit. Entries also expire after a TTL, which bounds
+ * how long writes made by other instances stay invisible, and the least
+ * recently read month is dropped when the cache is full.
+ */
+@Component
+public class TaskCalendarCache {
+
+    private record Month(Map<LocalDate, CalendarDay> days, long expiresAt) {}
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Value("${task.calendar.cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${task.calendar.cache-max-entries:10000}")
+    private int maxEntries;
+
+    // Access-ordered, so iteration starts at the least recently read month
+    private final Map<String, Month> months = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped by every eviction; a load that overlaps one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<CalendarDay> getRange(Long assignedTo, LocalDate from, LocalDate to) {
+        List<CalendarDay> days = new ArrayList<>();
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            for (CalendarDay day : getMonth(assignedTo, month).values()) {
+                if (!day.getDate().isBefore(from) && !day.getDate().isAfter(to)) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    // Keys are taken now, while the task still has the values the caller means; removal waits for commit
+    public void evict(Task task) {
+        if (task == null || task.getDeadline() == null) return;
+        YearMonth month = YearMonth.from(task.getDeadline());
+        List<String> keys = new ArrayList<>(2);
+        keys.add(key(null, month));
+        if (task.getAssignedTo() != null) {
+            keys.add(key(task.getAssignedTo(), month));
+        }
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            synchronized (months) {
+                keys.forEach(months::remove);
+            }
+        });
+    }
+
+    private Map<LocalDate, CalendarDay> getMonth(Long assignedTo, YearMonth month) {
+        String key = key(assignedTo, month);
+        long now = System.currentTimeMillis();
+        synchronized (months) {
+            Month cached = months.get(key);
+            if (cached != null && cached.expiresAt() > now) return cached.days();
+        }
+
+        long loadedAt = generation.get();
+        Map<LocalDate, CalendarDay> loaded = load(assignedTo, month);
+        synchronized (months) {
+            if (generation.get() == loadedAt) {
+                months.put(key, new Month(loaded, now + ttlMs));
+                trim();
+            }
+        }
+        return loaded;
+    }
+
+    // Called with the lock held
+    private void trim() {
+        Iterator<Month> it = months.values().iterator();
+        while (months.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private Map<LocalDate, CalendarDay> load(Long assignedTo, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        List<Object[]> rows = assignedTo == null
+                ? taskRepo.countByDeadlineBetween(start, end)
+                : taskRepo.countByAssignedToAndDeadlineBetween(assignedTo, start, end);
+
+        Map<LocalDate, CalendarDay> days = new TreeMap<>();
+        for (Object[] row : rows) {
+            LocalDate date = (LocalDate) row[0];
+            days.computeIfAbsent(date, CalendarDay::new)
+                    .add((String) row[1], (String) row[2], ((Number) row[3]).longValue());
+        }
+        return Collections.unmodifiableMap(days);
+    }
+
+    private static String key(Long assignedTo, YearMonth month) {
+        return (assignedTo == null ? "*" : assignedTo.toString()) + ":" + month;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+import com.mit.tasksphere.TaskService.Repository.TaskOutboxRepository;
+import com.mit.tasksphere.TaskService.Services.TaskEventConsumer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Relays the task outbox to every registered consumer. Each poll reads the
+ * oldest rows still in the table, claims them for this instance and gives
+ * every consumer the claimed ones it has not yet accepted, so a failing HTTP
+ * endpoint only delays itself. A row is deleted once every consumer has
+ * accepted it, and only then; the table therefore holds exactly the
+ * undelivered events.
+ *
+ * With several TaskService replicas each row is leased to one relay at a
+ * time (claimed-by / claimed-until, renewed on every poll), so consumers get
+ * one copy per row and a replica only deletes rows it holds. If a replica
+ * dies its rows are taken over once the lease runs out and delivered again.
+ * Leases compare application clocks, so the lease must be well above the
+ * clock skew between replicas.
+ *
+ * Delivery is tracked per row rather than by id watermark because IDENTITY
+ * ids are handed out at insert, not at commit: a transaction that took id 10
+ * can commit after one that took id 11. Row 10 is then simply picked up by a
+ * later poll. Per-consumer progress is kept in memory, so after a restart the
+ * rows still in the table are delivered again, which is what makes delivery
+ * at-least-once. A consumer may run at most max-scan-pages batches ahead of
+ * the slowest one, and ids of rows this relay no longer holds are dropped on
+ * every poll; together that bounds the memory used for tracking.
+ */
+@Component
+public class TaskOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskOutboxRelay.class);
+
+    @Autowired
+    private TaskOutboxRepository outboxRepo;
+
+    @Autowired(required = false)
+    private List<TaskEventConsumer> consumerBeans = new ArrayList<>();
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Value("${task.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${task.outbox.max-scan-pages:10}")
+    private int maxScanPages;
+
+    @Value("${task.outbox.http.endpoints:}")
+    private List<String> httpEndpoints;
+
+    @Value("${task.outbox.lease-ms:30000}")
+    private long leaseMs;
+
+    // Owner written into claimed rows; unique per process, so a restarted replica starts with no rows
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // consumer -> ids it accepted that are still in the table
+    private final Map<TaskEventConsumer, Set<Long>> accepted = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        consumerBeans.forEach(consumer -> accepted.put(consumer, new HashSet<>()));
+        RestClient restClient = restClientBuilder.build();
+        httpEndpoints.stream()
+                .filter(endpoint -> !endpoint.isBlank())
+                .forEach(endpoint -> accepted.put(new HttpTaskEventConsumer(endpoint.trim(), restClient), new HashSet<>()));
+        logger.info("Task outbox relay {} started with {} consumer(s)", instanceId, accepted.size());
+    }
+
+    @Scheduled(fixedDelayString = "${task.outbox.poll-interval-ms:1000}")
+    public synchronized void relay() {
+        if (accepted.isEmpty()) {
+            // Nobody is listening; just keep the table from growing. Only ids actually read and claimed are
+            // deleted, so a row committed late under a lower id is not lost to a range delete.
+            List<TaskOutboxEvent> rows = outboxRepo.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, batchSize));
+            List<Long> ids = claim(rows).stream().map(TaskOutboxEvent::getId).toList();
+            if (!ids.isEmpty()) {
+                outboxRepo.deleteClaimed(ids, instanceId);
+            }
+            return;
+        }
+
+        List<TaskOutboxEvent> read = new ArrayList<>();
+        Map<TaskEventConsumer, List<TaskOutboxEvent>> pending = new LinkedHashMap<>();
+        accepted.keySet().forEach(consumer -> pending.put(consumer, new ArrayList<>()));
+
+        // Page from the oldest row until every consumer has a full batch or the scan limit is hit
+        long after = 0L;
+        boolean reachedEnd = false;
+        for (int page = 0; page < maxScanPages; page++) {
+            List<TaskOutboxEvent> rows = outboxRepo.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                reachedEnd = true;
+                break;
+            }
+            after = rows.get(rows.size() - 1).getId();
+            List<TaskOutboxEvent> claimed = claim(rows);
+            read.addAll(claimed);
+
+            boolean allFull = true;
+            for (Map.Entry<TaskEventConsumer, List<TaskOutboxEvent>> entry : pending.entrySet()) {
+                Set<Long> done = accepted.get(entry.getKey());
+                for (TaskOutboxEvent row : claimed) {
+                    if (entry.getValue().size() >= batchSize) break;
+                    if (!done.contains(row.getId())) entry.getValue().add(row);
+                }
+                allFull &= entry.getValue().size() >= batchSize;
+            }
+            if (rows.size() < batchSize) {
+                reachedEnd = true;
+                break;
+            }
+            if (allFull) break;
+        }
+
+        // Rows scanned but not held any more were deleted or taken over by another replica
+        Set<Long> held = new HashSet<>();
+        read.forEach(row -> held.add(row.getId()));
+        long scannedUpTo = reachedEnd ? Long.MAX_VALUE : after;
+        accepted.values().forEach(done -> done.removeIf(id -> id <= scannedUpTo && !held.contains(id)));
+        if (read.isEmpty()) return;
+
+        for (Map.Entry<TaskEventConsumer, List<TaskOutboxEvent>> entry : pending.entrySet()) {
+            List<TaskOutboxEvent> events = entry.getValue();
+            if (events.isEmpty()) continue;
+            try {
+                entry.getKey().accept(events);
+                events.forEach(event -> accepted.get(entry.getKey()).add(event.getId()));
+            } catch (Exception e) {
+                logger.warn("Outbox delivery of {} event(s) to {} failed, will retry: {}",
+                        events.size(), entry.getKey().getName(), e.getMessage());
+            }
+        }
+
+        List<Long> deliverable = read.stream()
+                .map(TaskOutboxEvent::getId)
+                .filter(id -> accepted.values().stream().allMatch(done -> done.contains(id)))
+                .toList();
+        if (!deliverable.isEmpty()) {
+            outboxRepo.deleteClaimed(deliverable, instanceId);
+            accepted.values().forEach(done -> deliverable.forEach(done::remove));
+        }
+    }
+
+    // The rows among these that this relay holds after taking or renewing their lease
+    private List<TaskOutboxEvent> claim(List<TaskOutboxEvent> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Long> ids = rows.stream().map(TaskOutboxEvent::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepo.claim(ids, instanceId, now.plus(Duration.ofMillis(leaseMs)), now);
+        return outboxRepo.findByIdInAndClaimedByOrderByIdAsc(ids, instanceId);
+    }
+}
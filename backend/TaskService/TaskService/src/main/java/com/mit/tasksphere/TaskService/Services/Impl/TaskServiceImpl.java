@@ -1,12 +1,27 @@
 package com.mit.tasksphere.TaskService.Services.Impl;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.tasksphere.TaskService.Entities.IdempotencyRecord;
 import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+import com.mit.tasksphere.TaskService.PayLoads.AssigneeLoad;
+import com.mit.tasksphere.TaskService.PayLoads.CalendarDay;
+import com.mit.tasksphere.TaskService.Repository.TaskOutboxRepository;
 import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import com.mit.tasksphere.TaskService.Services.IdempotencyStore;
 import com.mit.tasksphere.TaskService.Services.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -16,11 +31,95 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private TaskRepository taskRepo;
 
+    @Autowired
+    private TaskOutboxRepository outboxRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskCalendarCache calendarCache;
+
+    @Autowired
+    private AssigneeLoadIndex loadIndex;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
+    @Transactional
     public Task createTask(Task task) {
         task.setStatus("Pending");
         task.setProgress(0);
-        return taskRepo.save(task);
+        Task saved = taskRepo.save(task);
+        recordEvent(saved, "CREATED");
+        calendarCache.evict(saved);
+        loadIndex.onSaved(saved);
+        return saved;
+    }
+
+    @Override
+    public Task createTask(Task task, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createTask(task);
+        }
+
+        String requestHash = fingerprint(task);
+        IdempotencyRecord existing = idempotencyStore.reserve(idempotencyKey, requestHash);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        try {
+            // Self-invocation bypasses @Transactional, so open the transaction explicitly;
+            // the task, its outbox event and the stored response commit together
+            // (the in-memory store defers the response to afterCommit itself)
+            return transactionTemplate.execute(status -> {
+                Task created = createTask(task);
+                idempotencyStore.complete(idempotencyKey, toJson(created));
+                return created;
+            });
+        } catch (RuntimeException e) {
+            idempotencyStore.release(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private Task replay(IdempotencyRecord existing, String requestHash) {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+        if (existing.getResponseBody() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+        }
+        try {
+            return objectMapper.readValue(existing.getResponseBody(), Task.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not replay idempotent response", e);
+        }
+    }
+
+    private String fingerprint(Task task) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(task).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Task task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize task", e);
+        }
     }
 
     @Override
@@ -31,33 +130,78 @@ public class TaskServiceImpl implements TaskService {
         return taskRepo.findAll();
     }
 
+    // Every team query is led by team_id, so it stays on the team_id indexes
+    // (and a single partition when the table is partitioned by team)
+    @Override
+    public List<Task> getTeamTasks(Long teamId, String status, String priority) {
+        if (status != null) return taskRepo.findByTeamIdAndStatus(teamId, status);
+        if (priority != null) return taskRepo.findByTeamIdAndPriority(teamId, priority);
+        return taskRepo.findByTeamId(teamId);
+    }
+
+    @Override
+    public Map<String, List<Task>> getTeamBoard(Long teamId) {
+        Map<String, List<Task>> board = new LinkedHashMap<>();
+        for (Task task : taskRepo.findByTeamIdOrderByDeadlineAsc(teamId)) {
+            board.computeIfAbsent(task.getStatus(), status -> new ArrayList<>()).add(task);
+        }
+        return board;
+    }
+
     @Override
     public Task getTaskById(Long id) {
-        return taskRepo.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        return taskRepo.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
     }
 
     @Override
+    @Transactional
     public Task updateTask(Long id, Task taskDetails) {
         Task task = getTaskById(id);
+        calendarCache.evict(task);
         task.setTitle(taskDetails.getTitle());
         task.setDescription(taskDetails.getDescription());
         task.setStatus(taskDetails.getStatus());
         task.setPriority(taskDetails.getPriority());
         task.setProgress(taskDetails.getProgress());
         task.setDeadline(taskDetails.getDeadline());
-        return taskRepo.save(task);
+        // Omitted teamId keeps the current team; Task.NO_TEAM (0) removes the task from its team
+        if (taskDetails.getTeamId() != null) {
+            task.setTeamId(taskDetails.getTeamId());
+        }
+        Task saved = taskRepo.save(task);
+        recordEvent(saved, "UPDATED");
+        calendarCache.evict(saved);
+        loadIndex.onSaved(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteTask(Long id) {
+        taskRepo.findById(id).ifPresent(task -> {
+            calendarCache.evict(task);
+            recordEvent(task, "DELETED");
+        });
         taskRepo.deleteById(id);
+        loadIndex.onDeleted(id);
     }
 
     @Override
+    @Transactional
     public Task reassignTask(Long id, String newAssignee) {
         Task task = getTaskById(id);
+        calendarCache.evict(task);
         task.setAssignedTo(Long.parseLong(newAssignee));
-        return taskRepo.save(task);
+        Task saved = taskRepo.save(task);
+        recordEvent(saved, "REASSIGNED");
+        calendarCache.evict(saved);
+        loadIndex.onSaved(saved);
+        return saved;
+    }
+
+    // Runs inside the caller's transaction, so the event commits or rolls back with the task
+    private void recordEvent(Task task, String eventType) {
+        outboxRepo.save(new TaskOutboxEvent(task.getId(), eventType, toJson(task)));
     }
 
 //    @Override
@@ -78,6 +222,24 @@ public class TaskServiceImpl implements TaskService {
         return analytics;
     }
 
+    @Override
+    public Map<String, Object> getTeamAnalytics(Long teamId) {
+        Map<String, Long> byStatus = new HashMap<>();
+        long total = 0;
+        for (Object[] row : taskRepo.countByStatusForTeam(teamId)) {
+            long count = ((Number) row[1]).longValue();
+            byStatus.put((String) row[0], count);
+            total += count;
+        }
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("teamId", teamId);
+        analytics.put("totalTasks", total);
+        analytics.put("completed", byStatus.getOrDefault("Completed", 0L));
+        analytics.put("pending", byStatus.getOrDefault("Pending", 0L));
+        analytics.put("inProgress", byStatus.getOrDefault("In Progress", 0L));
+        return analytics;
+    }
+
     @Override
     public List<Task> getReminders() {
         LocalDate today = LocalDate.now();
@@ -86,6 +248,25 @@ public class TaskServiceImpl implements TaskService {
                 .toList();
     }
 
+    @Override
+    public List<CalendarDay> getCalendar(LocalDate from, LocalDate to, Long assignedTo) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid calendar range");
+        }
+        if (from.plusYears(1).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Calendar range cannot exceed one year");
+        }
+        return calendarCache.getRange(assignedTo, from, to);
+    }
+
+    @Override
+    public List<AssigneeLoad> recommendAssignee(List<Long> candidates, int limit) {
+        if (candidates == null || candidates.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one candidate is required");
+        }
+        return loadIndex.recommend(candidates, Math.max(1, limit));
+    }
+
 	@Override
 	public Task addComment(Long id, String comment) {
 		// TODO Auto-generated method stub
@@ -0,0 +1,17 @@
+package com.mit.tasksphere.TaskService.Services;
+
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+import java.util.List;
+
+/**
+ * Receives task change events relayed from the outbox, each batch in id order.
+ * Delivery is at-least-once: a batch is re-sent if accept throws, and events
+ * still undelivered elsewhere are sent again after a restart, so
+ * implementations must tolerate duplicates. Deduplicate by event id, not by
+ * the highest id seen: a transaction that commits late can surface an event
+ * with a lower id after higher ones were delivered.
+ */
+public interface TaskEventConsumer {
+    String getName();
+    void accept(List<TaskOutboxEvent> events) throws Exception;
+}
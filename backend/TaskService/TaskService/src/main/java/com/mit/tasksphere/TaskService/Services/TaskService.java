@@ -1,17 +1,27 @@
 package com.mit.tasksphere.TaskService.Services;
 
 import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.PayLoads.AssigneeLoad;
+import com.mit.tasksphere.TaskService.PayLoads.CalendarDay;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 public interface TaskService {
     Task createTask(Task task);
+    Task createTask(Task task, String idempotencyKey);
     List<Task> getAllTasks(Long assignedTo, String status, String priority);
+    List<Task> getTeamTasks(Long teamId, String status, String priority);
+    Map<String, List<Task>> getTeamBoard(Long teamId);
     Task getTaskById(Long id);
     Task updateTask(Long id, Task task);
     void deleteTask(Long id);
     Task reassignTask(Long id, String newAssignee);
     Task addComment(Long id, String comment);
     Map<String, Object> getAnalytics();
+    Map<String, Object> getTeamAnalytics(Long teamId);
     List<Task> getReminders();
+    List<CalendarDay> getCalendar(LocalDate from, LocalDate to, Long assignedTo);
+    List<AssigneeLoad> recommendAssignee(List<Long> candidates, int limit);
 }
@@ -3,8 +3,10 @@ package com.mit.tasksphere.TaskService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 //@ComponentScan(basePackages = "com.mit.tasksphere.TaskService")
 public class TaskServiceApplication {
 
@@ -0,0 +1,22 @@
+-- ===============================
+-- OPTIONAL: HASH-PARTITION tasks BY TEAM
+-- ===============================
+-- Not run automatically (ddl-auto=update never partitions). Apply by hand on
+-- MySQL 8 once every task carries a team_id; team queries then prune to a
+-- single partition.
+--
+-- MySQL requires the partitioning column in every unique key, so team_id
+-- joins the primary key and becomes NOT NULL. Tasks without a team are
+-- parked in team 0 (Task.NO_TEAM), which the entity also writes for new
+-- tasks without a team, so inserts keep working under strict mode.
+
+UPDATE tasks SET team_id = 0 WHERE team_id IS NULL;
+
+ALTER TABLE tasks
+    MODIFY team_id BIGINT NOT NULL DEFAULT 0,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, team_id);
+
+ALTER TABLE tasks
+    PARTITION BY HASH (team_id)
+    PARTITIONS 16;
@@ -0,0 +1,104 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.PayLoads.AssigneeLoad;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssigneeLoadIndexTest {
+
+	private TaskRepository taskRepo;
+	private AssigneeLoadIndex index;
+
+	@BeforeEach
+	void setUp() {
+		taskRepo = mock(TaskRepository.class);
+		index = new AssigneeLoadIndex();
+		ReflectionTestUtils.setField(index, "taskRepo", taskRepo);
+	}
+
+	private static Task task(long id, Long assignee, String priority, LocalDate deadline, String status) {
+		Task task = new Task();
+		task.setId(id);
+		task.setAssignedTo(assignee);
+		task.setPriority(priority);
+		task.setDeadline(deadline);
+		task.setStatus(status);
+		return task;
+	}
+
+	private static List<Long> ranked(List<AssigneeLoad> loads) {
+		return loads.stream().map(AssigneeLoad::getAssigneeId).toList();
+	}
+
+	private int openTasks(long assignee) {
+		return index.recommend(List.of(assignee), 1).get(0).getOpenTasks();
+	}
+
+	@Test
+	void ranksTheLeastLoadedCandidatesFirst() {
+		LocalDate today = LocalDate.now();
+		when(taskRepo.findByStatusNot(anyString())).thenReturn(List.of(
+				task(1, 1L, "Critical", today, "Pending"),
+				task(2, 2L, "Low", today.plusDays(100), "Pending"),
+				task(3, 2L, "Low", today.plusDays(100), "In Progress")));
+		index.rebuild();
+
+		// Candidate 2 is listed twice but ranked once; 3 has nothing open
+		List<AssigneeLoad> loads = index.recommend(List.of(1L, 2L, 3L, 2L), 10);
+
+		assertEquals(List.of(3L, 2L, 1L), ranked(loads));
+		assertEquals(List.of(0, 2, 1), loads.stream().map(AssigneeLoad::getOpenTasks).toList());
+		assertEquals(List.of(3L, 2L), ranked(index.recommend(List.of(1L, 2L, 3L), 2)));
+	}
+
+	@Test
+	void savedTasksMoveBetweenAssigneesAndLeaveWhenCompleted() {
+		when(taskRepo.findByStatusNot(anyString())).thenReturn(List.of(task(1, 1L, "High", null, "Pending")));
+		index.rebuild();
+
+		index.onSaved(task(1, 2L, "High", null, "Pending"));
+		assertEquals(0, openTasks(1));
+		assertEquals(1, openTasks(2));
+
+		index.onSaved(task(1, 2L, "High", null, "Completed"));
+		assertEquals(0, openTasks(2));
+
+		index.onSaved(task(2, 2L, "High", null, "Pending"));
+		index.onDeleted(2L);
+		assertEquals(0, openTasks(2));
+	}
+
+	@Test
+	void commitsDuringARebuildAreNeitherBlockedNorLost() {
+		when(taskRepo.findByStatusNot(anyString())).thenAnswer(call -> {
+			// Another request commits while the full read is in progress; it must not wait for the rebuild
+			Thread commit = new Thread(() -> {
+				index.onSaved(task(2, 5L, "Medium", null, "Pending"));
+				index.onDeleted(1L);
+			});
+			commit.start();
+			commit.join(5_000);
+			assertFalse(commit.isAlive(), "commit blocked behind the rebuild's database read");
+			// The read started before that commit, so it still has task 1 and not task 2
+			return List.of(task(1, 5L, "Medium", null, "Pending"));
+		});
+
+		index.rebuild();
+
+		List<AssigneeLoad> loads = index.recommend(List.of(5L), 1);
+		assertEquals(1, loads.get(0).getOpenTasks());
+		assertEquals(2.0, loads.get(0).getScore());
+	}
+}
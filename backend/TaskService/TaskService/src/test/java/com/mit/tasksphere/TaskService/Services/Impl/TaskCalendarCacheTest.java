@@ -0,0 +1,154 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.PayLoads.CalendarDay;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskCalendarCacheTest {
+
+	private static final LocalDate MARCH_10 = LocalDate.of(2026, 3, 10);
+
+	private TaskRepository taskRepo;
+	private TaskCalendarCache cache;
+
+	@BeforeEach
+	void setUp() {
+		taskRepo = mock(TaskRepository.class);
+		when(taskRepo.countByAssignedToAndDeadlineBetween(anyLong(), any(), any())).thenReturn(List.of());
+		when(taskRepo.countByDeadlineBetween(any(), any())).thenReturn(List.of());
+		cache = cache(60_000, 100);
+	}
+
+	private TaskCalendarCache cache(long ttlMs, int maxEntries) {
+		TaskCalendarCache cache = new TaskCalendarCache();
+		ReflectionTestUtils.setField(cache, "taskRepo", taskRepo);
+		ReflectionTestUtils.setField(cache, "ttlMs", ttlMs);
+		ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+		return cache;
+	}
+
+	private static Object[] row(LocalDate date, long count) {
+		return new Object[] {date, "Pending", "High", count};
+	}
+
+	private static Task task(Long assignee, LocalDate deadline) {
+		Task task = new Task();
+		task.setAssignedTo(assignee);
+		task.setDeadline(deadline);
+		return task;
+	}
+
+	private List<CalendarDay> march(Long assignee) {
+		return cache.getRange(assignee, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+	}
+
+	private void verifyMarchLoads(long assignee, int times) {
+		verify(taskRepo, times(times)).countByAssignedToAndDeadlineBetween(eq(assignee), eq(LocalDate.of(2026, 3, 1)), eq(LocalDate.of(2026, 3, 31)));
+	}
+
+	@Test
+	void repeatedReadsOfAMonthAreServedFromTheCache() {
+		march(7L);
+		march(7L);
+
+		verifyMarchLoads(7L, 1);
+	}
+
+	@Test
+	void rangeAcrossMonthsKeepsOnlyDaysInsideIt() {
+		when(taskRepo.countByDeadlineBetween(eq(LocalDate.of(2026, 1, 1)), any()))
+				.thenReturn(List.of(row(LocalDate.of(2026, 1, 5), 1), row(LocalDate.of(2026, 1, 25), 2)));
+		when(taskRepo.countByDeadlineBetween(eq(LocalDate.of(2026, 2, 1)), any()))
+				.thenReturn(List.of(row(LocalDate.of(2026, 2, 3), 3), row(LocalDate.of(2026, 2, 20), 4)));
+
+		List<CalendarDay> days = cache.getRange(null, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 10));
+
+		assertEquals(List.of(LocalDate.of(2026, 1, 25), LocalDate.of(2026, 2, 3)),
+				days.stream().map(CalendarDay::getDate).toList());
+		assertEquals(List.of(2L, 3L), days.stream().map(CalendarDay::getTotal).toList());
+	}
+
+	@Test
+	void evictionWaitsForCommitAndDropsTheAssigneeAndTeamWideMonth() {
+		march(7L);
+		march(null);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			cache.evict(task(7L, MARCH_10));
+			// Still inside the transaction: the cached months stay
+			march(7L);
+			march(null);
+			verifyMarchLoads(7L, 1);
+
+			List<TransactionSynchronization> synchronizations = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		march(7L);
+		march(null);
+		verifyMarchLoads(7L, 2);
+		verify(taskRepo, times(2)).countByDeadlineBetween(eq(LocalDate.of(2026, 3, 1)), any());
+	}
+
+	@Test
+	void loadOverlappingAnEvictionIsServedButNotCached() {
+		when(taskRepo.countByAssignedToAndDeadlineBetween(eq(7L), any(), any())).thenAnswer(call -> {
+			// A write commits while the month is being read
+			cache.evict(task(7L, MARCH_10));
+			return List.<Object[]>of(row(MARCH_10, 1));
+		});
+
+		assertEquals(1, march(7L).size());
+		march(7L);
+
+		verifyMarchLoads(7L, 2);
+	}
+
+	@Test
+	void expiredMonthsAreReloaded() {
+		cache = cache(0, 100);
+
+		march(7L);
+		march(7L);
+
+		verifyMarchLoads(7L, 2);
+	}
+
+	@Test
+	void leastRecentlyReadMonthIsDroppedWhenFull() {
+		cache = cache(60_000, 2);
+
+		march(1L);
+		march(2L);
+		march(1L);
+		// Full: 2 was read longest ago and makes room for 3
+		march(3L);
+		march(1L);
+		march(2L);
+
+		verifyMarchLoads(1L, 1);
+		verifyMarchLoads(2L, 2);
+		verifyMarchLoads(3L, 1);
+	}
+}
@@ -0,0 +1,231 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.mit.tasksphere.TaskService.Entities.TaskOutboxEvent;
+import com.mit.tasksphere.TaskService.Repository.TaskOutboxRepository;
+import com.mit.tasksphere.TaskService.Services.TaskEventConsumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskOutboxRelayTest {
+
+	// task_outbox as the relay's queries see it: rows by id and the lease owner of each
+	private static final class OutboxTable {
+		final TreeMap<Long, TaskOutboxEvent> rows = new TreeMap<>();
+		final Map<Long, String> owners = new HashMap<>();
+
+		OutboxTable(long... ids) {
+			for (long id : ids) {
+				TaskOutboxEvent event = new TaskOutboxEvent(id, "UPDATED", "{}");
+				ReflectionTestUtils.setField(event, "id", id);
+				rows.put(id, event);
+			}
+		}
+
+		TaskOutboxRepository repository() {
+			TaskOutboxRepository repository = mock(TaskOutboxRepository.class);
+			when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(call -> {
+				long after = call.getArgument(0);
+				Pageable page = call.getArgument(1);
+				return rows.tailMap(after, false).values().stream().limit(page.getPageSize()).toList();
+			});
+			when(repository.claim(anyCollection(), anyString(), any(), any())).thenAnswer(call -> {
+				Collection<Long> ids = call.getArgument(0);
+				String owner = call.getArgument(1);
+				int claimed = 0;
+				for (Long id : ids) {
+					if (rows.containsKey(id) && (owners.get(id) == null || owners.get(id).equals(owner))) {
+						owners.put(id, owner);
+						claimed++;
+					}
+				}
+				return claimed;
+			});
+			when(repository.findByIdInAndClaimedByOrderByIdAsc(anyCollection(), anyString())).thenAnswer(call -> {
+				Collection<Long> ids = call.getArgument(0);
+				String owner = call.getArgument(1);
+				return ids.stream().sorted().filter(id -> owner.equals(owners.get(id))).map(rows::get).toList();
+			});
+			when(repository.deleteClaimed(anyCollection(), anyString())).thenAnswer(call -> {
+				Collection<Long> ids = call.getArgument(0);
+				String owner = call.getArgument(1);
+				List<Long> deleted = ids.stream().filter(id -> owner.equals(owners.get(id))).toList();
+				deleted.forEach(id -> {
+					rows.remove(id);
+					owners.remove(id);
+				});
+				return deleted.size();
+			});
+			return repository;
+		}
+
+		// Every lease runs out, as if its holder had died
+		void expireLeases() {
+			owners.clear();
+		}
+	}
+
+	private static final class RecordingConsumer implements TaskEventConsumer {
+		final List<Long> received;
+		boolean failing;
+
+		RecordingConsumer(List<Long> received) {
+			this.received = received;
+		}
+
+		RecordingConsumer() {
+			this(new ArrayList<>());
+		}
+
+		@Override
+		public String getName() {
+			return "recording";
+		}
+
+		@Override
+		public void accept(List<TaskOutboxEvent> events) throws Exception {
+			if (failing) {
+				throw new IOException("endpoint down");
+			}
+			events.forEach(event -> received.add(event.getId()));
+		}
+	}
+
+	private static TaskOutboxRelay relay(OutboxTable table, TaskEventConsumer... consumers) {
+		TaskOutboxRelay relay = new TaskOutboxRelay();
+		ReflectionTestUtils.setField(relay, "outboxRepo", table.repository());
+		ReflectionTestUtils.setField(relay, "consumerBeans", List.of(consumers));
+		ReflectionTestUtils.setField(relay, "restClientBuilder", RestClient.builder());
+		ReflectionTestUtils.setField(relay, "httpEndpoints", List.of());
+		ReflectionTestUtils.setField(relay, "batchSize", 2);
+		ReflectionTestUtils.setField(relay, "maxScanPages", 10);
+		ReflectionTestUtils.setField(relay, "leaseMs", 30_000L);
+		relay.init();
+		return relay;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int tracked(TaskOutboxRelay relay) {
+		Map<TaskEventConsumer, Set<Long>> accepted = (Map<TaskEventConsumer, Set<Long>>) ReflectionTestUtils.getField(relay, "accepted");
+		return accepted.values().stream().mapToInt(Set::size).sum();
+	}
+
+	@Test
+	void deliversEveryRowOnceToEachConsumerAndThenDeletesIt() {
+		OutboxTable table = new OutboxTable(1, 2, 3, 4, 5);
+		RecordingConsumer first = new RecordingConsumer();
+		RecordingConsumer second = new RecordingConsumer();
+		TaskOutboxRelay relay = relay(table, first, second);
+
+		for (int poll = 0; poll < 4; poll++) {
+			relay.relay();
+		}
+
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), first.received);
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), second.received);
+		assertTrue(table.rows.isEmpty());
+		assertEquals(0, tracked(relay));
+	}
+
+	@Test
+	void failingConsumerDelaysOnlyItselfAndKeepsTheRows() {
+		OutboxTable table = new OutboxTable(1, 2, 3);
+		RecordingConsumer healthy = new RecordingConsumer();
+		RecordingConsumer down = new RecordingConsumer();
+		down.failing = true;
+		TaskOutboxRelay relay = relay(table, healthy, down);
+
+		relay.relay();
+		relay.relay();
+
+		assertEquals(List.of(1L, 2L, 3L), healthy.received);
+		assertEquals(Set.of(1L, 2L, 3L), table.rows.keySet());
+
+		down.failing = false;
+		relay.relay();
+		relay.relay();
+
+		assertEquals(List.of(1L, 2L, 3L), healthy.received);
+		assertEquals(List.of(1L, 2L, 3L), down.received);
+		assertTrue(table.rows.isEmpty());
+	}
+
+	@Test
+	void replicasNeverDeliverOrDeleteRowsTheOtherHolds() {
+		OutboxTable table = new OutboxTable(1, 2, 3, 4);
+		// Both replicas are configured with the same endpoint
+		List<Long> endpoint = new ArrayList<>();
+		RecordingConsumer fromA = new RecordingConsumer(endpoint);
+		RecordingConsumer fromB = new RecordingConsumer(endpoint);
+		TaskOutboxRelay replicaA = relay(table, fromA);
+		TaskOutboxRelay replicaB = relay(table, fromB);
+
+		// A claims 1 and 2 but cannot deliver them yet
+		fromA.failing = true;
+		replicaA.relay();
+		replicaB.relay();
+
+		assertEquals(List.of(3L, 4L), endpoint);
+		assertEquals(Set.of(1L, 2L), table.rows.keySet());
+
+		fromA.failing = false;
+		replicaA.relay();
+		replicaB.relay();
+
+		assertEquals(List.of(3L, 4L, 1L, 2L), endpoint);
+		assertTrue(table.rows.isEmpty());
+	}
+
+	@Test
+	void rowsTakenOverAfterTheLeaseRunsOutAreDroppedFromTracking() {
+		OutboxTable table = new OutboxTable(1, 2);
+		RecordingConsumer healthy = new RecordingConsumer();
+		RecordingConsumer down = new RecordingConsumer();
+		down.failing = true;
+		TaskOutboxRelay replicaA = relay(table, healthy, down);
+
+		replicaA.relay();
+		assertEquals(2, tracked(replicaA));
+
+		// A stalls past its lease; B takes the rows over, delivers and deletes them
+		table.expireLeases();
+		RecordingConsumer fromB = new RecordingConsumer();
+		relay(table, fromB).relay();
+		assertEquals(List.of(1L, 2L), fromB.received);
+		assertTrue(table.rows.isEmpty());
+
+		replicaA.relay();
+		assertEquals(0, tracked(replicaA));
+	}
+
+	@Test
+	void withoutConsumersOnlyClaimedRowsAreDropped() {
+		OutboxTable table = new OutboxTable(1, 2, 3);
+		table.owners.put(1L, "another-replica");
+
+		TaskOutboxRelay relay = relay(table);
+		relay.relay();
+		relay.relay();
+
+		assertEquals(Set.of(1L), table.rows.keySet());
+	}
+}
@@ -0,0 +1,160 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.Repository.TaskOutboxRepository;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * createTask with an Idempotency-Key against the in-memory store. The
+ * transaction manager has no database behind it but runs commit and rollback
+ * synchronizations, so the store's afterCommit handling is exercised as in
+ * production.
+ */
+class TaskServiceImplIdempotencyTest {
+
+	private static final class NoDatabaseTransactionManager extends AbstractPlatformTransactionManager {
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+
+	private TaskServiceImpl service;
+	private TaskRepository taskRepo;
+	private final AtomicLong nextId = new AtomicLong();
+
+	@BeforeEach
+	void setUp() {
+		taskRepo = mock(TaskRepository.class);
+		when(taskRepo.save(any(Task.class))).thenAnswer(call -> {
+			Task task = call.getArgument(0);
+			task.setId(nextId.incrementAndGet());
+			return task;
+		});
+
+		InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+		ReflectionTestUtils.setField(store, "ttlHours", 24L);
+		ReflectionTestUtils.setField(store, "maxEntries", 100);
+
+		service = new TaskServiceImpl();
+		ReflectionTestUtils.setField(service, "taskRepo", taskRepo);
+		ReflectionTestUtils.setField(service, "outboxRepo", mock(TaskOutboxRepository.class));
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(service, "calendarCache", mock(TaskCalendarCache.class));
+		ReflectionTestUtils.setField(service, "loadIndex", mock(AssigneeLoadIndex.class));
+		ReflectionTestUtils.setField(service, "idempotencyStore", store);
+		ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(new NoDatabaseTransactionManager()));
+	}
+
+	// A fresh body per call, as each HTTP request deserializes its own
+	private static Task request(String title) {
+		Task task = new Task();
+		task.setTitle(title);
+		task.setAssignedTo(7L);
+		task.setPriority("High");
+		task.setDeadline(LocalDate.of(2026, 3, 14));
+		return task;
+	}
+
+	@Test
+	void repeatedKeyReplaysTheFirstResponse() {
+		Task first = service.createTask(request("Write report"), "key-1");
+		Task replayed = service.createTask(request("Write report"), "key-1");
+
+		assertEquals(first.getId(), replayed.getId());
+		assertEquals("Write report", replayed.getTitle());
+		assertEquals(LocalDate.of(2026, 3, 14), replayed.getDeadline());
+		verify(taskRepo, times(1)).save(any(Task.class));
+	}
+
+	@Test
+	void keyReusedWithADifferentBodyIsRejectedWith422() {
+		service.createTask(request("Write report"), "key-1");
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.createTask(request("Review report"), "key-1"));
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+		verify(taskRepo, times(1)).save(any(Task.class));
+	}
+
+	@Test
+	void keyStillInFlightIsRejectedWith409() {
+		// The duplicate arrives while the first request is inside its transaction, before the response is stored
+		AtomicReference<ResponseStatusException> duplicate = new AtomicReference<>();
+		doAnswer(call -> {
+			duplicate.set(assertThrows(ResponseStatusException.class,
+					() -> service.createTask(request("Write report"), "key-1")));
+			Task task = call.getArgument(0);
+			task.setId(nextId.incrementAndGet());
+			return task;
+		}).when(taskRepo).save(any(Task.class));
+
+		Task created = service.createTask(request("Write report"), "key-1");
+
+		assertEquals(HttpStatus.CONFLICT, duplicate.get().getStatusCode());
+		// Once committed, the same key replays instead
+		assertEquals(created.getId(), service.createTask(request("Write report"), "key-1").getId());
+	}
+
+	@Test
+	void failedCreateReleasesTheKeyForARetry() {
+		doThrow(new IllegalStateException("database unavailable"))
+				.doAnswer(call -> {
+					Task task = call.getArgument(0);
+					task.setId(nextId.incrementAndGet());
+					return task;
+				})
+				.when(taskRepo).save(any(Task.class));
+
+		assertThrows(IllegalStateException.class, () -> service.createTask(request("Write report"), "key-1"));
+		Task retried = service.createTask(request("Write report"), "key-1");
+
+		assertEquals(1L, retried.getId());
+		verify(taskRepo, times(2)).save(any(Task.class));
+	}
+
+	@Test
+	void withoutAKeyEveryRequestCreatesATask() {
+		service.createTask(request("Write report"), null);
+		service.createTask(request("Write report"), " ");
+
+		verify(taskRepo, times(2)).save(any(Task.class));
+	}
+}
@@ -0,0 +1,104 @@
+package com.mit.tasksphere.TaskService.Services.Impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mit.tasksphere.TaskService.Entities.Task;
+import com.mit.tasksphere.TaskService.Repository.TaskOutboxRepository;
+import com.mit.tasksphere.TaskService.Repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceImplTeamTest {
+
+	private TaskRepository taskRepo;
+	private TaskServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		taskRepo = mock(TaskRepository.class);
+		when(taskRepo.save(any(Task.class))).thenAnswer(call -> call.getArgument(0));
+
+		service = new TaskServiceImpl();
+		ReflectionTestUtils.setField(service, "taskRepo", taskRepo);
+		ReflectionTestUtils.setField(service, "outboxRepo", mock(TaskOutboxRepository.class));
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(service, "calendarCache", mock(TaskCalendarCache.class));
+		ReflectionTestUtils.setField(service, "loadIndex", mock(AssigneeLoadIndex.class));
+	}
+
+	private static Task task(long id, Long teamId, String status, LocalDate deadline) {
+		Task task = new Task();
+		task.setId(id);
+		task.setTitle("Task " + id);
+		task.setTeamId(teamId);
+		task.setStatus(status);
+		task.setDeadline(deadline);
+		return task;
+	}
+
+	@Test
+	void updateWithoutATeamKeepsTheCurrentOne() {
+		when(taskRepo.findById(1L)).thenReturn(Optional.of(task(1, 4L, "Pending", null)));
+
+		Task updated = service.updateTask(1L, task(1, null, "In Progress", null));
+
+		assertEquals(4L, updated.getTeamId());
+		assertEquals("In Progress", updated.getStatus());
+	}
+
+	@Test
+	void updateWithNoTeamTakesTheTaskOutOfItsTeam() {
+		when(taskRepo.findById(1L)).thenReturn(Optional.of(task(1, 4L, "Pending", null)));
+
+		Task updated = service.updateTask(1L, task(1, Task.NO_TEAM, "Pending", null));
+
+		assertEquals(Task.NO_TEAM, updated.getTeamId());
+	}
+
+	@Test
+	void teamQueriesAreLedByTheTeam() {
+		service.getTeamTasks(4L, "Pending", null);
+		service.getTeamTasks(4L, null, "High");
+		service.getTeamTasks(4L, null, null);
+
+		verify(taskRepo).findByTeamIdAndStatus(4L, "Pending");
+		verify(taskRepo).findByTeamIdAndPriority(4L, "High");
+		verify(taskRepo).findByTeamId(4L);
+		verify(taskRepo, never()).findByAssignedTo(anyLong());
+	}
+
+	@Test
+	void boardGroupsByStatusAndKeepsDeadlineOrder() {
+		when(taskRepo.findByTeamIdOrderByDeadlineAsc(4L)).thenReturn(List.of(
+				task(1, 4L, "Pending", LocalDate.of(2026, 3, 1)),
+				task(2, 4L, "Completed", LocalDate.of(2026, 3, 2)),
+				task(3, 4L, "Pending", LocalDate.of(2026, 3, 3))));
+
+		Map<String, List<Task>> board = service.getTeamBoard(4L);
+
+		assertEquals(List.of("Pending", "Completed"), List.copyOf(board.keySet()));
+		assertEquals(List.of(1L, 3L), board.get("Pending").stream().map(Task::getId).toList());
+	}
+
+	@Test
+	void tasksWithoutATeamArePersistedUnderNoTeam() {
+		Task task = task(1, null, "Pending", null);
+
+		ReflectionTestUtils.invokeMethod(task, "defaultTeam");
+
+		assertEquals(Task.NO_TEAM, task.getTeamId());
+	}
+}
@@ -0,0 +1,44 @@
+package com.mit.tasksphere.UserService.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors that keep login off Tomcat's request threads. Password hashing is
+ * CPU-bound, so its pool is sized to the cores and its queue is short: when
+ * both are full, login fails fast with 503 rather than piling up threads that
+ * all compete for the same CPUs. Attendance writes are fire-and-forget.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    @Bean(name = "attendanceExecutor")
+    public ThreadPoolTaskExecutor attendanceExecutor(
+            @Value("${auth.attendance.threads:2}") int threads,
+            @Value("${auth.attendance.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attendance-");
+        // Let queued clock-ins finish on shutdown
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
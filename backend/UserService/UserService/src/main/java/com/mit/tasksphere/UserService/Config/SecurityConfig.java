@@ -1,7 +1,9 @@
 package com.mit.tasksphere.UserService.Config;
 
 import com.mit.tasksphere.UserService.Security.JwtAuthenticationFilter;
+import com.mit.tasksphere.UserService.Security.PasswordEncoderCalibrator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,7 +11,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -44,7 +45,9 @@ public class SecurityConfig {
                     "/api/users/register",
                     "/owner/register",
                     "/forgot-password",
-                    "/reset-password"
+                    "/reset-password",
+                    // Revoked jti/exp pairs for the gateway's replica; useless without the token itself
+                    "/auth/revocations"
                 ).permitAll()
 
                 // Everything else requires JWT
@@ -70,8 +73,10 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Cost benchmarked at startup against auth.password.target-ms; see PasswordEncoderCalibrator
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.encoder:bcrypt}") String encoderId,
+                                           @Value("${auth.password.target-ms:50}") long targetMillis) {
+        return PasswordEncoderCalibrator.calibrated(encoderId, targetMillis);
     }
 }
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import javax.naming.AuthenticationException;
 
@@ -15,40 +16,50 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import com.mit.tasksphere.UserService.Security.JwtHelper;
+import com.mit.tasksphere.UserService.Security.PasswordHashingService;
+import com.mit.tasksphere.UserService.Security.UserPrincipalCache;
 import com.mit.tasksphere.UserService.Entities.User; // Ensure User is imported
 import com.mit.tasksphere.UserService.Services.AttendanceService;
 import com.mit.tasksphere.UserService.Services.EmailService; 
+import com.mit.tasksphere.UserService.Services.TokenRevocationService;
+import com.mit.tasksphere.UserService.Services.Impl.CustomUserDetailsService;
 import com.mit.tasksphere.UserService.PayLoads.JwtResponse; 
 import com.mit.tasksphere.UserService.PayLoads.LoginRequest; 
+import com.mit.tasksphere.UserService.PayLoads.RevocationSnapshot;
 
 
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 @RestController
 public class AuthController {
 
-	@Autowired
-	private UserDetailsService customUserDetailsService;
-	
 	@Autowired
 	private AttendanceService attendanceService;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private UserPrincipalCache principalCache;
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     @Autowired
-    private AuthenticationManager manager;
+    @Qualifier("attendanceExecutor")
+    private ThreadPoolTaskExecutor attendanceExecutor;
 
     @Autowired
     private JwtHelper helper;
@@ -69,42 +80,80 @@ public class AuthController {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     
+    /**
+     * One user load, then the BCrypt check on the bounded hashing pool. The
+     * Tomcat thread is released while the password is checked (the response is
+     * completed from the pool), and the clock-in is queued rather than awaited.
+     */
     @PostMapping({"/api/users/login", "/auth/login"})
-    public ResponseEntity<?> loginUser(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody LoginRequest request) {
         logger.info("Login attempt for email: {}", request.getEmail());
 
         try {
-            // 1. Check if user exists
-            User user = userRepo.findByEmail(request.getEmail())
-                .orElseThrow(() -> new BadCredentialsException("User not found"));
-
-            // 2. Authenticate with AuthenticationManager
-            Authentication authentication = manager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-
-            // 3. Load UserDetails from UserDetailsService
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(request.getEmail());
-
-            // 4. Generate JWT Token with user information
-            String token = helper.generateToken(userDetails, user);
-
-            JwtResponse response = new JwtResponse(token, user.getName(), user.getId());
-            logger.info("Login successful for: {}", request.getEmail());
-            
-            attendanceService.logClockIn(user);
-            logger.info("Clockin successful for: {}", request.getEmail());
-            
-            return ResponseEntity.ok(response);
-
-        } catch (BadCredentialsException ex) {
-            logger.warn("Login failed: Invalid credentials for {}", request.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Invalid email or password"));
+            // 1. Load the user once; always from the database, never a cached hash
+            Optional<User> found = userRepo.findByEmail(request.getEmail());
+            if (found.isEmpty() || request.getPassword() == null) {
+                logger.warn("Login failed: Invalid credentials for {}", request.getEmail());
+                return CompletableFuture.completedFuture(invalidCredentials());
+            }
+            User user = found.get();
+
+            // 2. Check the password off the request thread
+            return passwordHashingService.matches(request.getPassword(), user.getPassword())
+                .<ResponseEntity<?>>thenApply(matches -> {
+                    if (!matches) {
+                        logger.warn("Login failed: Invalid credentials for {}", request.getEmail());
+                        return invalidCredentials();
+                    }
+
+                    // Old algorithm or cost: re-hash in the background with the current one
+                    passwordHashingService.rehashIfNeeded(user, request.getPassword());
+
+                    // 3. Generate JWT Token with user information
+                    String token = helper.generateToken(CustomUserDetailsService.toUserDetails(user), user);
+                    JwtResponse response = new JwtResponse(token, user.getName(), user.getId());
+                    logger.info("Login successful for: {}", request.getEmail());
+
+                    // 4. Clock-in happens after the response
+                    recordClockIn(user);
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(e -> {
+                    logger.error("Unexpected error during login: {}", e.getMessage());
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(Map.of("error", "Login failed. Please try again."));
+                });
+
+        } catch (TaskRejectedException e) {
+            logger.warn("Login rejected for {}: password hashing pool is saturated", request.getEmail());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Too many logins in progress. Please try again.")));
         } catch (Exception e) {
             logger.error("Unexpected error during login: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Login failed. Please try again."));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Login failed. Please try again.")));
+        }
+    }
+
+    private static ResponseEntity<?> invalidCredentials() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid email or password"));
+    }
+
+    private void recordClockIn(User user) {
+        try {
+            attendanceExecutor.execute(() -> {
+                try {
+                    attendanceService.logClockIn(user);
+                    logger.info("Clockin successful for: {}", user.getEmail());
+                } catch (Exception e) {
+                    // Most likely a concurrent login already clocked in today (unique user/date)
+                    logger.warn("Clock-in failed for {}: {}", user.getEmail(), e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Clock-in dropped for {}: attendance queue is full", user.getEmail());
         }
     }
 
@@ -142,6 +191,7 @@ public class AuthController {
             user.setPassword(passwordEncoder.encode(newPassword));
             logger.info("Password reset successful for {}",email);
             userRepo.save(user);
+            principalCache.invalidate(user);
             return ResponseEntity.ok("Password updated successfully.");
         } else {
         	logger.warn("User dosen't exist with mail: {}", email);
@@ -158,6 +208,8 @@ public class AuthController {
     	    }
     	 logger.info("Clock out started for : {} " , authHeader);
         try {
+            // Revoke first: the token must stop working even if clock-out fails
+            tokenRevocationService.revoke(authHeader.substring(7));
             User user = getUserFromJwt(authHeader);
             attendanceService.logClockOut(user);
             logger.info("Clock-Out successful for: {}", user.getId());
@@ -169,6 +221,12 @@ public class AuthController {
         }
     }
     
+    // Polled by the gateway to keep its revocation list in sync; pass the previous serverTime as since
+    @GetMapping("/auth/revocations")
+    public ResponseEntity<RevocationSnapshot> revocations(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(tokenRevocationService.revokedSince(since));
+    }
+
     private User getUserFromJwt(String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.warn("Missing or invalid Authorization header");
@@ -176,11 +234,11 @@ public class AuthController {
         }
 
         String token = authHeader.substring(7);
-        String email = helper.extractUsername(token); // assumes email is username
+        String email = helper.parse(token).subject(); // assumes email is username
         logger.info("Token arrived from frotnend {}",token);
         logger.info("Extracted email from token: {}", email);
 
-        return userRepo.findByEmail(email)
+        return principalCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
     }
     
@@ -21,8 +21,8 @@ import com.mit.tasksphere.UserService.Entities.Team;
 import com.mit.tasksphere.UserService.Entities.TeamMember;
 import com.mit.tasksphere.UserService.Entities.User;
 import com.mit.tasksphere.UserService.Repository.TeamRepository;
-import com.mit.tasksphere.UserService.Repository.UserRepository;
 import com.mit.tasksphere.UserService.Security.JwtHelper;
+import com.mit.tasksphere.UserService.Security.UserPrincipalCache;
 import com.mit.tasksphere.UserService.Services.TeamService;
 import com.mit.tasksphere.UserService.PayLoads.TeamDTO;
 import java.util.stream.Collectors;
@@ -43,8 +43,8 @@ public class TeamController {
     @Autowired
     private JwtHelper jwtHelper;
     
-    @Autowired 
-    private UserRepository userRepository; 
+    @Autowired
+    private UserPrincipalCache principalCache;
     
     @Autowired
     private TeamRepository teamRepo;
@@ -131,10 +131,10 @@ public class TeamController {
         }
         
         String token = authorizationHeader.substring(7);
-        String email = jwtHelper.extractUsername(token);
+        String email = jwtHelper.parse(token).subject();
         logger.info("Extracted email from token: {}", email);
         
-        return userRepository.findByEmail(email)
+        return principalCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
     }
 }
\ No newline at end of file
@@ -10,8 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import com.mit.tasksphere.UserService.Entities.User;
-import com.mit.tasksphere.UserService.Repository.UserRepository;
 import com.mit.tasksphere.UserService.Security.JwtHelper;
+import com.mit.tasksphere.UserService.Security.UserPrincipalCache;
 import com.mit.tasksphere.UserService.Services.UserService;
 import com.mit.tasksphere.UserService.PayLoads.JwtResponse;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,7 +29,7 @@ public class UserController {
     private JwtHelper jwtHelper;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserPrincipalCache principalCache;
 
     @Autowired
     private UserDetailsService customUserDetailsService;
@@ -43,10 +43,10 @@ public class UserController {
         }
 
         String token = authHeader.substring(7);
-        String email = jwtHelper.extractUsername(token); // assumes email is username
+        String email = jwtHelper.parse(token).subject(); // assumes email is username
         logger.info("Extracted email from token: {}", email);
 
-        return userRepository.findByEmail(email)
+        return principalCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found for email: " + email));
     }
 
@@ -0,0 +1,47 @@
+package com.mit.tasksphere.UserService.Entities;
+
+import jakarta.persistence.*;
+
+// A logged-out access token, kept until the token would have expired anyway
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+    }
+)
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    // Epoch millis, copied from the token's exp claim
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, long expiresAt, long revokedAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getRevokedAt() {
+        return revokedAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mit.tasksphere.UserService.PayLoads;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Revocations since the caller's cursor; serverTime is the cursor for the next poll
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationSnapshot {
+    private long serverTime;
+    private List<Entry> entries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String jti;
+        private long expiresAt;
+    }
+}
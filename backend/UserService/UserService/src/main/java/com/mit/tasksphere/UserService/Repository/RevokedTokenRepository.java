@@ -0,0 +1,20 @@
+package com.mit.tasksphere.UserService.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mit.tasksphere.UserService.Entities.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+	List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtGreaterThan(long revokedSince, long now);
+
+	@Modifying
+	@Query("delete from RevokedToken t where t.expiresAt <= :now")
+	int deleteExpired(@Param("now") long now);
+
+}
@@ -4,6 +4,10 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.mit.tasksphere.UserService.Entities.User;
 
@@ -13,4 +17,10 @@ public interface UserRepository extends JpaRepository<User,Long>{
 
 	List<User> findByRole(String role);
 
+	// Swaps the hash only if it is still the one that was verified, so a concurrent reset wins
+	@Transactional
+	@Modifying
+	@Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+	int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
 }
@@ -8,11 +8,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.mit.tasksphere.UserService.Entities.User;
+import com.mit.tasksphere.UserService.Services.TokenRevocationService;
+import com.mit.tasksphere.UserService.Services.Impl.CustomUserDetailsService;
+
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
@@ -30,7 +34,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtHelper jwtHelper;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -48,10 +55,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username;
+        ParsedToken parsed;
 
         try {
-            username = jwtHelper.extractUsername(token);
+            // Verified once here; controllers reading the token in this request reuse the result
+            parsed = jwtHelper.parse(token);
         } catch (ExpiredJwtException e) {
             logger.warn("JWT expired");
             filterChain.doFilter(request, response);
@@ -62,13 +70,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        if (tokenRevocationService.isRevoked(parsed.jti())) {
+            logger.warn("Revoked JWT");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String username = parsed.subject();
         if (username != null &&
             SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(username);
+            // Cached, and remembered on the request so the controller's lookup is free
+            User user = principalCache.findByEmail(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+            UserDetails userDetails = CustomUserDetailsService.toUserDetails(user);
 
-            if (jwtHelper.validateToken(token, userDetails)) {
+            if (jwtHelper.validateToken(parsed, userDetails)) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -2,16 +2,20 @@ package com.mit.tasksphere.UserService.Security; // Recommending moving to a Sec
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.userdetails.UserDetails; // Import UserDetails
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -19,6 +23,12 @@ public class JwtHelper { // Renamed from JwtRequest for clarity
 
     private static final String SECRET = "mysecretkeymysecretkeymysecretkey1234mysecretkeymysecretkeymysecretkey1234";
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    // Thread-safe and immutable, so one parser serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // Request attributes holding the last token parsed in this request and its result
+    private static final String PARSED_TOKEN_ATTR = JwtHelper.class.getName() + ".parsed";
+    private static final String RAW_TOKEN_ATTR = JwtHelper.class.getName() + ".raw";
     
     public static final long JWT_TOKEN_VALIDITY = 5 * 60 * 60 * 1000;
 
@@ -49,6 +59,7 @@ public class JwtHelper { // Renamed from JwtRequest for clarity
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuer("tasksphere-api")
                 .setIssuedAt(new Date(System.currentTimeMillis()))
@@ -58,13 +69,46 @@ public class JwtHelper { // Renamed from JwtRequest for clarity
     }
     
     
+    /**
+     * Verifies the token (signature and expiry) and returns its claims. Within a
+     * request the result is remembered, so the filter and the controller that
+     * both need the token pay for the HMAC and JSON parsing once.
+     */
+    public ParsedToken parse(String token) throws JwtException {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null
+                && token.equals(request.getAttribute(RAW_TOKEN_ATTR, RequestAttributes.SCOPE_REQUEST))) {
+            return (ParsedToken) request.getAttribute(PARSED_TOKEN_ATTR, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        Claims claims = extractAllClaims(token);
+        ParsedToken parsed = new ParsedToken(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                claims.get("roles", String.class),
+                claims.getId(),
+                claims.getIssuedAt(),
+                claims.getExpiration());
+        if (request != null) {
+            request.setAttribute(RAW_TOKEN_ATTR, token, RequestAttributes.SCOPE_REQUEST);
+            request.setAttribute(PARSED_TOKEN_ATTR, parsed, RequestAttributes.SCOPE_REQUEST);
+        }
+        return parsed;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parse(token).subject();
     }
 
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return parse(token).expiration();
+    }
+
+    // Token id (jti), the key for revocation on logout
+    public String extractJti(String token) {
+        return parse(token).jti();
     }
     
     /**
@@ -79,27 +123,21 @@ public class JwtHelper { // Renamed from JwtRequest for clarity
      * Parses the JWT to extract all claims (the body).
      */
     private Claims extractAllClaims(String token) throws JwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(parse(token), userDetails);
     }
 
-    
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(ParsedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     public boolean validateToken(String token) {
         try {
-            return !isTokenExpired(token);
+            return !parse(token).isExpired();
         } catch (JwtException e) {
             return false;
         }
@@ -0,0 +1,15 @@
+package com.mit.tasksphere.UserService.Security;
+
+import java.util.Date;
+
+/**
+ * A token whose signature and expiry JwtHelper has already checked, with the
+ * claims the service uses. Built once per request by {@link JwtHelper#parse}.
+ */
+public record ParsedToken(String subject, String userId, String email, String roles, String jti,
+                          Date issuedAt, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
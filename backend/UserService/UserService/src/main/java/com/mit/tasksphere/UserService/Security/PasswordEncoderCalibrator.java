@@ -0,0 +1,106 @@
+package com.mit.tasksphere.UserService.Security;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Builds the application's password encoder with a cost tuned to this
+ * machine. At startup, the encoder chosen for new hashes is benchmarked and
+ * given the highest cost that still hashes within the target time, never
+ * going below a safe floor. Hashes carry an {id} prefix (bcrypt, argon2,
+ * pbkdf2); legacy un-prefixed hashes are treated as bcrypt.
+ *
+ * Only self-describing formats are calibrated. bcrypt and Argon2 store
+ * their cost in the hash, so the cost can change between restarts and old
+ * hashes still verify. PBKDF2 hashes do not store an iteration count, so
+ * pbkdf2 always uses Spring Security's fixed defaults.
+ *
+ * Whenever the chosen cost or algorithm changes, upgradeEncoding() reports
+ * older hashes, which are rewritten on the user's next successful login.
+ */
+public final class PasswordEncoderCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+    private static final int SAMPLES = 3;
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
+    // OWASP minimum for Argon2id: 19 MiB, parallelism 1; iterations are calibrated
+    private static final int ARGON2_MEMORY_KB = 19 * 1024;
+    private static final int MIN_ARGON2_ITERATIONS = 2;
+    private static final int MAX_ARGON2_ITERATIONS = 20;
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    public static PasswordEncoder calibrated(String idForEncode, long targetMillis) {
+        BCryptPasswordEncoder bcrypt = "bcrypt".equals(idForEncode)
+                ? new BCryptPasswordEncoder(bcryptStrength(targetMillis))
+                : new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+        Argon2PasswordEncoder argon2 = "argon2".equals(idForEncode)
+                ? argon2(argon2Iterations(targetMillis))
+                : argon2(MIN_ARGON2_ITERATIONS);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", argon2,
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalArgumentException("Unknown password encoder id: " + idForEncode);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+        // Hashes written before ids were introduced are plain bcrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    // Highest strength whose hash time fits the target; each step doubles the cost
+    private static int bcryptStrength(long targetMillis) {
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH
+                && millisPerHash(new BCryptPasswordEncoder(strength + 1)) <= targetMillis) {
+            strength++;
+        }
+        logger.info("Password hashing: bcrypt strength {} (target {} ms)", strength, targetMillis);
+        return strength;
+    }
+
+    // Argon2 cost is linear in iterations, so extrapolate from one measurement and then verify
+    private static int argon2Iterations(long targetMillis) {
+        double perIteration = millisPerHash(argon2(MIN_ARGON2_ITERATIONS)) / MIN_ARGON2_ITERATIONS;
+        int iterations = (int) Math.max(MIN_ARGON2_ITERATIONS,
+                Math.min(MAX_ARGON2_ITERATIONS, Math.floor(targetMillis / perIteration)));
+        while (iterations > MIN_ARGON2_ITERATIONS && millisPerHash(argon2(iterations)) > targetMillis) {
+            iterations--;
+        }
+        logger.info("Password hashing: argon2id m={}KiB t={} p=1 (target {} ms)",
+                ARGON2_MEMORY_KB, iterations, targetMillis);
+        return iterations;
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, ARGON2_MEMORY_KB, iterations);
+    }
+
+    // Best of a few runs after a warm-up, so JIT and GC noise do not push the cost down
+    private static double millisPerHash(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
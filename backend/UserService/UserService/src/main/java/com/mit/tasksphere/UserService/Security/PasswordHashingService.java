@@ -0,0 +1,69 @@
+package com.mit.tasksphere.UserService.Security;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mit.tasksphere.UserService.Entities.User;
+import com.mit.tasksphere.UserService.Repository.UserRepository;
+
+/**
+ * Runs password checks on the bounded passwordHashingExecutor (see
+ * LoginExecutorConfig) so the request thread is not the one burning CPU.
+ * After a successful check, a hash written with an older algorithm or cost
+ * is replaced in the background, since that is the only moment the plain
+ * password is known.
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    // Throws TaskRejectedException straight away when the pool and its queue are full
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) throws TaskRejectedException {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.matches(rawPassword, encodedPassword), executor);
+    }
+
+    // Call only after rawPassword has matched user's current hash
+    public void rehashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(oldHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    String newHash = passwordEncoder.encode(rawPassword);
+                    if (userRepo.replacePasswordHash(user.getId(), oldHash, newHash) == 1) {
+                        principalCache.invalidate(user);
+                        logger.info("Upgraded password hash for user {}", user.getId());
+                    }
+                } catch (Exception e) {
+                    logger.warn("Password rehash failed for user {}: {}", user.getId(), e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Pool is busy with logins; the next successful login tries again
+        }
+    }
+}
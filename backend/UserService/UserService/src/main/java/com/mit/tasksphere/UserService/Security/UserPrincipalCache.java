@@ -0,0 +1,139 @@
+package com.mit.tasksphere.UserService.Security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.mit.tasksphere.UserService.Entities.User;
+import com.mit.tasksphere.UserService.Repository.UserRepository;
+
+/**
+ * Users looked up for authentication, cached at two levels. The first lookup
+ * in a request is remembered on the request, so the security filter and the
+ * controller share one load. Across requests, users are kept for a short TTL
+ * by email and id, so a burst of calls from one user costs a single query.
+ * Callers always get their own copy, never the cached instance.
+ *
+ * Anything that changes a user (update, delete, password reset) must call
+ * {@link #invalidate}. Other UserService instances only see the change once
+ * their entry expires, so keep the TTL short.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private static final String REQUEST_ATTR = UserPrincipalCache.class.getName() + ".user";
+
+    private record Entry(User user, long expiresAt) {}
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Value("${user.principal-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${user.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> byEmail = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+
+    public Optional<User> findByEmail(String email) {
+        User fromRequest = fromRequest();
+        if (fromRequest != null && fromRequest.getEmail().equals(email)) {
+            return Optional.of(copyOf(fromRequest));
+        }
+        Entry entry = byEmail.get(email);
+        if (isLive(entry)) {
+            return Optional.of(remember(entry.user()));
+        }
+        return userRepo.findByEmail(email).map(this::cacheAndRemember);
+    }
+
+    public Optional<User> findById(Long id) {
+        User fromRequest = fromRequest();
+        if (fromRequest != null && fromRequest.getId().equals(id)) {
+            return Optional.of(copyOf(fromRequest));
+        }
+        Entry entry = byId.get(id);
+        if (isLive(entry)) {
+            return Optional.of(remember(entry.user()));
+        }
+        return userRepo.findById(id).map(this::cacheAndRemember);
+    }
+
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+        if (user.getEmail() != null) {
+            Entry removed = byEmail.remove(user.getEmail());
+            if (removed != null) {
+                byId.remove(removed.user().getId());
+            }
+        }
+        if (user.getId() != null) {
+            Entry removed = byId.remove(user.getId());
+            if (removed != null) {
+                byEmail.remove(removed.user().getEmail());
+            }
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTR, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private User cacheAndRemember(User user) {
+        if (byEmail.size() >= maxEntries) {
+            evict();
+        }
+        User cached = copyOf(user);
+        Entry entry = new Entry(cached, System.currentTimeMillis() + ttlMs);
+        byEmail.put(cached.getEmail(), entry);
+        byId.put(cached.getId(), entry);
+        return remember(cached);
+    }
+
+    private User remember(User cached) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTR, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+        return copyOf(cached);
+    }
+
+    private static User fromRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null ? (User) request.getAttribute(REQUEST_ATTR, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+
+    private static boolean isLive(Entry entry) {
+        return entry != null && entry.expiresAt() > System.currentTimeMillis();
+    }
+
+    // Drop expired entries first; if still full, drop an arbitrary tenth
+    private void evict() {
+        long now = System.currentTimeMillis();
+        byEmail.values().removeIf(entry -> entry.expiresAt() <= now);
+        byId.values().removeIf(entry -> entry.expiresAt() <= now);
+        int toDrop = byEmail.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<Entry> it = byEmail.values().iterator();
+        while (toDrop-- > 0 && it.hasNext()) {
+            byId.remove(it.next().user().getId());
+            it.remove();
+        }
+    }
+
+    // Detached copy, so a caller that modifies its User cannot change what others see
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getEmail(), user.getPassword(), user.getName(), user.getRole(),
+                user.getPhoneNumber(), user.getGender(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
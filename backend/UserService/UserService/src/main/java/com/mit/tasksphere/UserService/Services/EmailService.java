@@ -1,5 +1,7 @@
 package com.mit.tasksphere.UserService.Services;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,9 @@ public class EmailService {
     @Autowired
     private JavaMailSender javaMailSender;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     /**
      * Helper method to convert a Date object to LocalDate for duration calculations.
      * Assuming getCheckInDate() / getCheckOutDate() return java.util.Date.
@@ -35,21 +40,26 @@ public class EmailService {
     }
 
     // Method to send a generic email (existing code)
+    // Traced as its own span; the recipient is deliberately not recorded
     public void sendEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = javaMailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true); // true indicates HTML content
-
-            javaMailSender.send(message);
-            logger.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            logger.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-            throw new RuntimeException("Failed to send email to " + to, e);
-        }
+        Observation.createNotStarted("email.send", observationRegistry)
+                .contextualName("send email")
+                .observe(() -> {
+                    try {
+                        MimeMessage message = javaMailSender.createMimeMessage();
+                        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+                        helper.setTo(to);
+                        helper.setSubject(subject);
+                        helper.setText(htmlContent, true); // true indicates HTML content
+
+                        javaMailSender.send(message);
+                        logger.info("Email sent successfully to: {}", to);
+                    } catch (Exception e) {
+                        logger.error("Failed to send email to {}: {}", to, e.getMessage(), e);
+                        throw new RuntimeException("Failed to send email to " + to, e);
+                    }
+                });
     }
 
     // 1] Welcome message for a new user
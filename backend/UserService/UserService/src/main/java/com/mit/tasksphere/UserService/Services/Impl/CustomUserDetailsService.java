@@ -35,7 +35,14 @@ public class CustomUserDetailsService implements UserDetailsService {
         // 1. Fetch the User entity from the database using the email
         User user = userRepo.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return toUserDetails(user);
+    }
 
+    /**
+     * Builds the Spring Security view of a User. Shared with JwtAuthenticationFilter,
+     * which gets its User from UserPrincipalCache instead of the database.
+     */
+    public static UserDetails toUserDetails(User user) {
         // 2. Map the User's role to Spring Security GrantedAuthority
         // Assuming your 'role' field is a simple string (e.g., "USER", "ADMIN").
         List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.getRole()));
@@ -0,0 +1,108 @@
+package com.mit.tasksphere.UserService.Services.Impl;
+
+import com.mit.tasksphere.UserService.Entities.RevokedToken;
+import com.mit.tasksphere.UserService.PayLoads.RevocationSnapshot;
+import com.mit.tasksphere.UserService.Repository.RevokedTokenRepository;
+import com.mit.tasksphere.UserService.Security.JwtHelper;
+import com.mit.tasksphere.UserService.Security.ParsedToken;
+import com.mit.tasksphere.UserService.Services.TokenRevocationService;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import jakarta.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocations live in the revoked_tokens table so they survive restarts and
+ * are shared by every UserService instance. Lookups on the request path go to
+ * an in-memory copy (jti -> exp) that is refreshed from the table, so checking
+ * a token never costs a query. Rows are purged once the token has expired.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepo;
+
+    @Autowired
+    private JwtHelper jwtHelper;
+
+    // Re-read this much history on each refresh so rows committed late by another instance are not missed
+    @Value("${revocation.refresh-overlap-ms:30000}")
+    private long refreshOverlapMs;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile long refreshedUpTo = 0;
+
+    @Override
+    @Transactional
+    public void revoke(String token) {
+        ParsedToken parsed;
+        try {
+            parsed = jwtHelper.parse(token);
+        } catch (ExpiredJwtException e) {
+            return;
+        }
+        String jti = parsed.jti();
+        if (jti == null || parsed.expiration() == null) {
+            logger.warn("Token has no jti/exp, cannot revoke");
+            return;
+        }
+        long expiresAt = parsed.expiration().getTime();
+        revokedTokenRepo.save(new RevokedToken(jti, expiresAt, System.currentTimeMillis()));
+        revoked.put(jti, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public RevocationSnapshot revokedSince(long since) {
+        long now = System.currentTimeMillis();
+        List<RevocationSnapshot.Entry> entries = revokedTokenRepo
+                .findByRevokedAtGreaterThanEqualAndExpiresAtGreaterThan(since, now)
+                .stream()
+                .map(t -> new RevocationSnapshot.Entry(t.getJti(), t.getExpiresAt()))
+                .toList();
+        return new RevocationSnapshot(now, entries);
+    }
+
+    // First run happens at startup with since = 0, which loads every live revocation
+    @Scheduled(fixedDelayString = "${revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        long since = Math.max(0, refreshedUpTo - refreshOverlapMs);
+        RevocationSnapshot snapshot = revokedSince(since);
+        for (RevocationSnapshot.Entry entry : snapshot.getEntries()) {
+            revoked.put(entry.getJti(), entry.getExpiresAt());
+        }
+        refreshedUpTo = snapshot.getServerTime();
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        int deleted = revokedTokenRepo.deleteExpired(now);
+        if (deleted > 0) {
+            logger.info("Purged {} expired token revocations", deleted);
+        }
+    }
+}
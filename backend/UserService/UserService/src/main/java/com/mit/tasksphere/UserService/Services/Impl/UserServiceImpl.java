@@ -16,6 +16,8 @@ import org.springframework.stereotype.Service;
 
 import com.mit.tasksphere.UserService.Entities.User;
 import com.mit.tasksphere.UserService.Repository.UserRepository;
+import com.mit.tasksphere.UserService.Security.PasswordHashingService;
+import com.mit.tasksphere.UserService.Security.UserPrincipalCache;
 import com.mit.tasksphere.UserService.Services.EmailService;
 import com.mit.tasksphere.UserService.Services.UserService;
 
@@ -31,6 +33,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     @Autowired
     private EmailService emailService;
     
@@ -89,6 +97,7 @@ public class UserServiceImpl implements UserService {
         if (existingUser.isPresent()) {
             if (passwordEncoder.matches(user.getPassword(), existingUser.get().getPassword())) {
                 logger.info("Login successful for email: {}", user.getEmail());
+                passwordHashingService.rehashIfNeeded(existingUser.get(), user.getPassword());
                 return existingUser.get();
             } else {
                 logger.warn("Login failed: invalid password for email: {}", user.getEmail());
@@ -131,6 +140,7 @@ public class UserServiceImpl implements UserService {
             if (user.getRole() != null) existingUser.setRole(user.getRole());
 
             User updated = userRepo.save(existingUser);
+            principalCache.invalidate(updated);
             logger.info("User updated successfully for ID: {}", updated.getId());
             return updated;
         } else {
@@ -146,6 +156,7 @@ public class UserServiceImpl implements UserService {
 
         if (currentUser.isPresent()) {
             userRepo.deleteById(user.getId());
+            principalCache.invalidate(currentUser.get());
             logger.info("User deleted successfully with ID: {}", user.getId());
             return currentUser.get();
         } else {
@@ -157,7 +168,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public User getUserById(String id) {
         logger.info("Fetching user by ID: {}", id);
-        Optional<User> user = userRepo.findById(Long.parseLong(id));
+        Optional<User> user = principalCache.findById(Long.parseLong(id));
 
         if (user.isPresent()) {
             return user.get();
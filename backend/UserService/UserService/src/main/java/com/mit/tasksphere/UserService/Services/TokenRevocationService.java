@@ -0,0 +1,10 @@
+package com.mit.tasksphere.UserService.Services;
+
+import com.mit.tasksphere.UserService.PayLoads.RevocationSnapshot;
+
+public interface TokenRevocationService {
+    // Revokes the token until its exp; tokens without a jti cannot be revoked and are ignored
+    void revoke(String token);
+    boolean isRevoked(String jti);
+    RevocationSnapshot revokedSince(long since);
+}